@@ -1,33 +1,39 @@
 package net.mysterria.stuff;
 
-import de.skyslycer.hmcwraps.HMCWraps;
+import net.mysterria.stuff.audit.AuditLog;
 import net.mysterria.stuff.commands.MainCommand;
 import net.mysterria.stuff.commands.MainCommandTabCompleter;
+import net.mysterria.stuff.config.ConfigFileWatcher;
 import net.mysterria.stuff.config.ConfigManager;
-import net.mysterria.stuff.features.battlepass.NetheriteElytraBlocker;
-import net.mysterria.stuff.features.chatcontrol.ChatControlMessageManager;
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.features.FeatureManager;
 import net.mysterria.stuff.features.chatcontrol.ChatControlSessionHandler;
-import net.mysterria.stuff.features.chatcontrol.ChatControlTokenListener;
-import net.mysterria.stuff.features.coi.BoosterPatriarchListener;
-import net.mysterria.stuff.features.coi.DangerousActionsListener;
-import net.mysterria.stuff.features.coi.LeoderoStrikeListener;
-import net.mysterria.stuff.features.hmcwraps.UniversalTokenManager;
-import net.mysterria.stuff.features.hmcwraps.listener.UniversalTokenListener;
-import net.mysterria.stuff.features.hmcwraps.listener.WrapPreviewListener;
-import net.mysterria.stuff.features.husktowns.LightningStrikeFix;
+import net.mysterria.stuff.features.chatcontrol.ChatControlTokenModule;
+import net.mysterria.stuff.features.coi.CoIProtectionModule;
+import net.mysterria.stuff.features.coi.CraftingVerdictCache;
+import net.mysterria.stuff.features.coi.rules.CoIRuleEngine;
 import net.mysterria.stuff.features.recipes.RecipeManager;
+import net.mysterria.stuff.features.recipes.RecipeManagerModule;
+import net.mysterria.stuff.perf.FeatureWatchdog;
+import net.mysterria.stuff.perf.ListenerTimings;
+import net.mysterria.stuff.perf.MetricsServer;
 import net.mysterria.stuff.utils.PrettyLogger;
-import org.bukkit.Bukkit;
-import org.bukkit.plugin.Plugin;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
 public final class MysterriaStuff extends JavaPlugin {
 
     private static MysterriaStuff instance;
     private ConfigManager configManager;
-    private RecipeManager recipeManager;
-    private BoosterPatriarchListener boosterPatriarchListener;
-    private ChatControlSessionHandler chatControlSessionHandler;
+    private FeatureManager featureManager;
+    private ListenerTimings listenerTimings;
+    private MetricsServer metricsServer;
+    private FeatureWatchdog featureWatchdog;
+    private ConfigFileWatcher fileWatcher;
 
     public static MysterriaStuff getInstance() {
         return instance;
@@ -42,6 +48,9 @@ public final class MysterriaStuff extends JavaPlugin {
 
 
         PrettyLogger.setDebugMode(configManager.isDebugMode());
+        PrettyLogger.configure(configManager.getMinLogLevel(), configManager.isUseColors(), configManager.isAsyncLogging());
+        PrettyLogger.configureDebug(configManager.getDebugCategories(), configManager.getDebugRateLimit());
+        getServer().getScheduler().runTaskTimerAsynchronously(this, PrettyLogger::flushSuppressed, 20L, 20L);
 
 
         if (configManager.isShowHeader()) {
@@ -60,65 +69,49 @@ public final class MysterriaStuff extends JavaPlugin {
         }
 
 
-        PrettyLogger.info("Registering event listeners...");
-
-        if (configManager.isElytraBlockerEnabled()) {
-            getServer().getPluginManager().registerEvents(new NetheriteElytraBlocker(), this);
-            PrettyLogger.feature("Reinforced Elytra Blocker");
-        }
-
-        if (configManager.isLightningFixEnabled()) {
-            getServer().getPluginManager().registerEvents(new LightningStrikeFix(), this);
-            PrettyLogger.feature("Lightning Strike Fix (HuskTowns)");
+        if (configManager.isAuditEnabled()) {
+            AuditLog.start(new File(getDataFolder(), "audit"),
+                    configManager.getAuditFlushIntervalMillis(),
+                    configManager.getAuditFlushSizeKb() * 1024,
+                    configManager.getAuditMaxFileSizeMb() * 1024L * 1024L,
+                    configManager.isAuditCompressRotated());
         }
 
-        if (configManager.isCoiProtectionEnabled()) {
-            getServer().getPluginManager().registerEvents(new DangerousActionsListener(), this);
-            getServer().getPluginManager().registerEvents(new LeoderoStrikeListener(this), this);
-            PrettyLogger.feature("CoI Dangerous Actions Listener");
-        }
+        listenerTimings = new ListenerTimings(this, configManager.isListenerTimingsEnabled());
 
-        if (configManager.isBoosterPatriarchEnabled()) {
-            boosterPatriarchListener = new BoosterPatriarchListener(this);
-            getServer().getPluginManager().registerEvents(boosterPatriarchListener, this);
-            PrettyLogger.feature("CoI Booster Patriarch System");
-        }
-
-
-        if (configManager.isUniversalTokenEnabled()) {
-            HMCWraps hmcWraps = loadHmcWraps();
-            if (hmcWraps != null) {
-                PrettyLogger.info("Initializing Universal Token system...");
-                UniversalTokenManager.initialize(this);
+        PrettyLogger.info("Registering event listeners...");
 
-                WrapPreviewListener previewHandler = new WrapPreviewListener(hmcWraps);
-                getServer().getPluginManager().registerEvents(previewHandler, this);
-                getServer().getPluginManager().registerEvents(new UniversalTokenListener(this, hmcWraps, previewHandler), this);
+        featureManager = new FeatureManager(this);
+        featureManager.enableConfigured();
 
-                PrettyLogger.feature("Universal Token (HMCWraps Integration)");
+        if (configManager.isWatchdogEnabled()) {
+            if (listenerTimings.isEnabled()) {
+                featureWatchdog = new FeatureWatchdog(listenerTimings, configManager);
+                getServer().getPluginManager().registerEvents(featureWatchdog, this);
+                PrettyLogger.debug("Feature watchdog started");
             } else {
-                PrettyLogger.warn("Universal Token enabled but HMCWraps plugin not found!");
+                PrettyLogger.warn("performance.watchdog needs performance.listener-timings, watchdog not started");
             }
         }
 
-
-        if (configManager.isChatControlTokenEnabled()) {
-            PrettyLogger.info("Initializing ChatControl Message Token system...");
-            ChatControlMessageManager.initialize(this);
-
-            chatControlSessionHandler = new ChatControlSessionHandler(this);
-            getServer().getPluginManager().registerEvents(chatControlSessionHandler, this);
-            getServer().getPluginManager().registerEvents(new ChatControlTokenListener(chatControlSessionHandler), this);
-
-            PrettyLogger.feature("ChatControl Message Token (Custom Join/Quit Messages)");
+        if (configManager.isFileWatcherEnabled()) {
+            fileWatcher = new ConfigFileWatcher(this, configManager.getFileWatcherDebounceMillis());
+            try {
+                fileWatcher.start();
+            } catch (IOException e) {
+                PrettyLogger.warn("Failed to start file watcher: " + e.getMessage());
+                fileWatcher = null;
+            }
         }
 
-
-        if (configManager.isRecipeManagerEnabled()) {
-            PrettyLogger.info("Initializing recipe manager...");
-            recipeManager = new RecipeManager();
-            recipeManager.initialize();
-            PrettyLogger.feature("Runtime Recipe Manager");
+        if (configManager.isMetricsEnabled()) {
+            metricsServer = new MetricsServer(this);
+            try {
+                metricsServer.start(configManager.getMetricsBindAddress(), configManager.getMetricsPort());
+            } catch (IOException e) {
+                PrettyLogger.warn("Failed to start metrics endpoint: " + e.getMessage());
+                metricsServer = null;
+            }
         }
 
         PrettyLogger.success("MysterriaStuff enabled successfully!");
@@ -129,44 +122,52 @@ public final class MysterriaStuff extends JavaPlugin {
         }
     }
 
-    private HMCWraps loadHmcWraps() {
-        String name = "HMCWraps";
-        try {
-            boolean enabled = Bukkit.getPluginManager().isPluginEnabled(name);
-            PrettyLogger.debug(name + " enabled: " + enabled);
-            Plugin plugin = Bukkit.getPluginManager().getPlugin(name);
-            if (plugin == null) {
-                PrettyLogger.warn(name + " plugin not found (getPlugin returned null).");
-                return null;
-            }
-            PrettyLogger.debug(name + " plugin instance class: " + plugin.getClass().getName());
-            if (!(plugin instanceof HMCWraps)) {
-                PrettyLogger.warn(name + " found but is not an instance of HMCWraps. Actual: " + plugin.getClass().getName());
-                return null;
-            }
-            return (HMCWraps) plugin;
-        } catch (ClassCastException e) {
-            PrettyLogger.warn("Failed to cast " + name + " plugin to HMCWraps: " + e);
-            return null;
-        } catch (Throwable t) {
-            PrettyLogger.warn("Unexpected error while loading " + name + ": " + t);
-            return null;
-        }
-    }
-
     @Override
     public void onDisable() {
 
-        if (boosterPatriarchListener != null) {
-            boosterPatriarchListener.shutdown();
+        if (fileWatcher != null) {
+            fileWatcher.stop();
         }
 
+        if (featureManager != null) {
+            featureManager.disableAll();
+        }
+
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+
+        AuditLog.stop();
+
         PrettyLogger.warn("MysterriaStuff is shutting down...");
         PrettyLogger.info("Thanks for using MysterriaStuff!");
+        PrettyLogger.flushSuppressed();
+        PrettyLogger.shutdown();
+    }
+
+    /**
+     * Applies a configuration that {@link ConfigManager#reloadConfigAsync()} just swapped in.
+     *
+     * @return the features that were started, stopped or restarted
+     */
+    public List<Feature> applyReload(FileConfiguration previous) {
+        PrettyLogger.setDebugMode(configManager.isDebugMode());
+        PrettyLogger.configure(configManager.getMinLogLevel(), configManager.isUseColors(), configManager.isAsyncLogging());
+        PrettyLogger.configureDebug(configManager.getDebugCategories(), configManager.getDebugRateLimit());
+
+        if (featureWatchdog != null) {
+            featureWatchdog.loadSettings(configManager);
+        }
+
+        return featureManager.reload(previous);
+    }
+
+    public FeatureManager getFeatureManager() {
+        return featureManager;
     }
 
     public RecipeManager getRecipeManager() {
-        return recipeManager;
+        return featureManager.get(Feature.RECIPE_MANAGER) instanceof RecipeManagerModule module ? module.getRecipeManager() : null;
     }
 
     public ConfigManager getConfigManager() {
@@ -174,7 +175,23 @@ public final class MysterriaStuff extends JavaPlugin {
     }
 
     public ChatControlSessionHandler getChatControlSessionHandler() {
-        return chatControlSessionHandler;
+        return featureManager.get(Feature.CHATCONTROL_TOKEN) instanceof ChatControlTokenModule module ? module.getSessionHandler() : null;
+    }
+
+    public CoIRuleEngine getCoIRuleEngine() {
+        return featureManager.get(Feature.COI_PROTECTION) instanceof CoIProtectionModule module ? module.getRuleEngine() : null;
+    }
+
+    public CraftingVerdictCache getCraftingVerdictCache() {
+        return featureManager.get(Feature.COI_PROTECTION) instanceof CoIProtectionModule module ? module.getCraftingVerdictCache() : null;
+    }
+
+    public ListenerTimings getListenerTimings() {
+        return listenerTimings;
+    }
+
+    public FeatureWatchdog getFeatureWatchdog() {
+        return featureWatchdog;
     }
 
 }
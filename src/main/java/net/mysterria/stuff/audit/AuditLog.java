@@ -0,0 +1,54 @@
+package net.mysterria.stuff.audit;
+
+import net.mysterria.stuff.utils.PrettyLogger;
+
+import java.io.File;
+
+/**
+ * Append-only JSON-lines trail of economy and permission changes, for dupe investigations.
+ * <p>
+ * {@link #record} only builds a small record and offers it to the writer's queue; formatting,
+ * file IO, rotation and compression all happen on the writer thread. Calls made while the log is
+ * disabled do nothing.
+ */
+public final class AuditLog {
+
+    private static volatile AuditWriter writer;
+
+    private AuditLog() {
+    }
+
+    public static void start(File directory, long flushIntervalMillis, int flushBytes, long maxFileBytes, boolean compressRotated) {
+        stop();
+        writer = new AuditWriter(directory, flushIntervalMillis, flushBytes, maxFileBytes, compressRotated);
+        PrettyLogger.debug(() -> "Audit log writing to " + directory.getPath());
+    }
+
+    public static void stop() {
+        AuditWriter current = writer;
+        writer = null;
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return writer != null;
+    }
+
+    /**
+     * Queues one audit entry.
+     *
+     * @param action what happened, e.g. {@code token_exchange}
+     * @param fields alternating field names and values
+     */
+    public static void record(String action, String... fields) {
+        AuditWriter current = writer;
+        if (current != null) {
+            current.offer(new AuditRecord(System.currentTimeMillis(), action, fields));
+        }
+    }
+
+    record AuditRecord(long timestamp, String action, String[] fields) {
+    }
+}
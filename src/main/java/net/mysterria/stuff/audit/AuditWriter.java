@@ -0,0 +1,245 @@
+package net.mysterria.stuff.audit;
+
+import com.google.gson.stream.JsonWriter;
+import net.mysterria.stuff.utils.PrettyLogger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The single background thread behind {@link AuditLog}.
+ * <p>
+ * Records are appended to {@code audit.jsonl} in batches, written and synced once the batch is
+ * {@code flushBytes} large or {@code flushIntervalMillis} old. The file is rotated when the date
+ * changes or it grows past {@code maxFileBytes}; rotated files are named after their date and
+ * gzip-compressed if enabled.
+ * <p>
+ * IO failures close the file and retry with a backoff of one second doubling up to a minute; the
+ * unwritten batch is kept, and records arriving meanwhile wait in the queue until it is full.
+ */
+class AuditWriter {
+
+    private static final String FILE_NAME = "audit.jsonl";
+    private static final int QUEUE_CAPACITY = 65536;
+    private static final long MIN_RETRY_MILLIS = 1000;
+    private static final long MAX_RETRY_MILLIS = 60000;
+
+    private final File directory;
+    private final File activeFile;
+    private final long flushIntervalMillis;
+    private final int flushBytes;
+    private final long maxFileBytes;
+    private final boolean compressRotated;
+    private final BlockingQueue<AuditLog.AuditRecord> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final StringBuilder batch = new StringBuilder(8192);
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private FileOutputStream out;
+    private LocalDate fileDate;
+    private long fileBytes;
+    private long batchStarted;
+
+    AuditWriter(File directory, long flushIntervalMillis, int flushBytes, long maxFileBytes, boolean compressRotated) {
+        this.directory = directory;
+        this.activeFile = new File(directory, FILE_NAME);
+        this.flushIntervalMillis = Math.max(10, flushIntervalMillis);
+        this.flushBytes = Math.max(1024, flushBytes);
+        this.maxFileBytes = maxFileBytes;
+        this.compressRotated = compressRotated;
+        this.thread = new Thread(this::run, "MysterriaStuff-Audit");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    void offer(AuditLog.AuditRecord record) {
+        if (!queue.offer(record)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Lets the writer finish everything still queued, then closes the file.
+     */
+    void shutdown() {
+        running = false;
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long backoff = 0;
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    if (out == null) {
+                        open();
+                    }
+                    AuditLog.AuditRecord record = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                    if (record != null) {
+                        if (batch.isEmpty()) {
+                            batchStarted = System.currentTimeMillis();
+                        }
+                        append(record);
+                    }
+
+                    if (!batch.isEmpty() && (batch.length() >= flushBytes
+                            || System.currentTimeMillis() - batchStarted >= flushIntervalMillis)) {
+                        flush();
+                    }
+                    backoff = 0;
+                } catch (IOException e) {
+                    close();
+                    if (!running) {
+                        PrettyLogger.error("Audit log stopped with " + batch.length() + " unwritten bytes: " + e.getMessage());
+                        return;
+                    }
+                    backoff = backoff == 0 ? MIN_RETRY_MILLIS : Math.min(backoff * 2, MAX_RETRY_MILLIS);
+                    PrettyLogger.error("Audit log write failed, retrying in " + backoff / 1000 + "s: " + e.getMessage());
+                    pause(backoff);
+                }
+            }
+            try {
+                if (out == null) {
+                    open();
+                }
+                flush();
+            } catch (IOException e) {
+                PrettyLogger.error("Audit log stopped with " + batch.length() + " unwritten bytes: " + e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Waits before reopening the file, returning early once {@link #shutdown} was called.
+     */
+    private void pause(long millis) throws InterruptedException {
+        long until = System.currentTimeMillis() + millis;
+        while (running && System.currentTimeMillis() < until) {
+            Thread.sleep(Math.min(250, until - System.currentTimeMillis()));
+        }
+    }
+
+    private void append(AuditLog.AuditRecord record) throws IOException {
+        StringWriter line = new StringWriter(128);
+        JsonWriter json = new JsonWriter(line);
+        json.beginObject();
+        json.name("time").value(Instant.ofEpochMilli(record.timestamp()).toString());
+        json.name("action").value(record.action());
+        String[] fields = record.fields();
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            json.name(fields[i]).value(fields[i + 1]);
+        }
+        json.endObject();
+        json.flush();
+        batch.append(line).append('\n');
+    }
+
+    private void flush() throws IOException {
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            PrettyLogger.warn("Audit queue was full, dropped " + lost + " records");
+        }
+        if (batch.isEmpty()) return;
+
+        if (!LocalDate.now().equals(fileDate) || (maxFileBytes > 0 && fileBytes >= maxFileBytes)) {
+            rotate();
+        }
+
+        byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+        out.write(bytes);
+        out.flush();
+        out.getFD().sync();
+        batch.setLength(0);
+        fileBytes += bytes.length;
+    }
+
+    private void open() throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory.getPath());
+        }
+
+        if (activeFile.exists()) {
+            fileDate = Instant.ofEpochMilli(activeFile.lastModified()).atZone(ZoneId.systemDefault()).toLocalDate();
+            fileBytes = activeFile.length();
+        } else {
+            fileDate = LocalDate.now();
+            fileBytes = 0;
+        }
+        out = new FileOutputStream(activeFile, true);
+    }
+
+    private void rotate() throws IOException {
+        out.close();
+        out = null;
+
+        if (fileBytes > 0) {
+            File rotated = rotatedName(fileDate);
+            Files.move(activeFile.toPath(), rotated.toPath());
+            if (compressRotated) {
+                compress(rotated);
+            }
+        }
+
+        fileDate = LocalDate.now();
+        fileBytes = 0;
+        out = new FileOutputStream(activeFile, true);
+    }
+
+    private File rotatedName(LocalDate date) {
+        for (int index = 0; ; index++) {
+            String name = "audit-" + date + (index == 0 ? "" : "." + index) + ".jsonl";
+            File candidate = new File(directory, name);
+            if (!candidate.exists() && !new File(directory, name + ".gz").exists()) {
+                return candidate;
+            }
+        }
+    }
+
+    private void compress(File file) {
+        File target = new File(file.getPath() + ".gz");
+        try (InputStream in = new FileInputStream(file);
+             OutputStream gzip = new GZIPOutputStream(new FileOutputStream(target))) {
+            in.transferTo(gzip);
+        } catch (IOException e) {
+            PrettyLogger.warn("Failed to compress " + file.getName() + ", keeping it uncompressed: " + e.getMessage());
+            target.delete();
+            return;
+        }
+        file.delete();
+    }
+
+    private void close() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                PrettyLogger.warn("Failed to close audit log: " + e.getMessage());
+            }
+            out = null;
+        }
+    }
+}
@@ -6,9 +6,18 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.features.FeatureModule;
 import net.mysterria.stuff.features.chatcontrol.ChatControlMessageManager;
 import net.mysterria.stuff.features.chatcontrol.ChatControlSessionHandler;
+import net.mysterria.stuff.features.coi.rules.CoIRule;
+import net.mysterria.stuff.features.coi.rules.CoIRuleEngine;
 import net.mysterria.stuff.features.hmcwraps.UniversalTokenManager;
+import net.mysterria.stuff.perf.FeatureWatchdog;
+import net.mysterria.stuff.perf.HandlerTimer;
+import net.mysterria.stuff.perf.ListenerTimings;
+import net.mysterria.stuff.perf.TimerSnapshot;
+import net.mysterria.stuff.utils.DebugCategory;
 import net.mysterria.stuff.utils.PrettyLogger;
 import net.mysterria.stuff.utils.StaticItems;
 import org.bukkit.Bukkit;
@@ -16,11 +25,16 @@ import org.bukkit.Material;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 
 public class MainCommand implements CommandExecutor {
@@ -47,7 +61,7 @@ public class MainCommand implements CommandExecutor {
                 return handleExport(sender);
             }
             case "debug" -> {
-                return handleDebug(sender);
+                return handleDebug(sender, args);
             }
             case "info", "status" -> {
                 return handleInfo(sender);
@@ -55,6 +69,12 @@ public class MainCommand implements CommandExecutor {
             case "recipe" -> {
                 return handleRecipe(sender, args);
             }
+            case "rules" -> {
+                return handleRules(sender);
+            }
+            case "perf" -> {
+                return handlePerf(sender, args);
+            }
             case "token" -> {
                 return handleToken(sender, args);
             }
@@ -96,10 +116,12 @@ public class MainCommand implements CommandExecutor {
         sendCommandHelp(sender, "/mystuff help", "Show this help message");
         sendCommandHelp(sender, "/mystuff info", "Show plugin status and loaded features");
         sendCommandHelp(sender, "/mystuff reload", "Reload the plugin configuration");
-        sendCommandHelp(sender, "/mystuff debug", "Toggle debug mode");
+        sendCommandHelp(sender, "/mystuff debug [category]", "Toggle debug mode or one debug category");
         sendCommandHelp(sender, "/mystuff give <item> <player>", "Give an item to a player");
         sendCommandHelp(sender, "/mystuff export", "Export held item as bytes");
         sendCommandHelp(sender, "/mystuff recipe <list|reload>", "Manage custom recipes");
+        sendCommandHelp(sender, "/mystuff rules", "Show CoI protection rules and their hit counts");
+        sendCommandHelp(sender, "/mystuff perf [reset|restore]", "Show event handler timings per feature");
         sendCommandHelp(sender, "/mystuff token give <player> [amount]", "Give universal tokens");
         sendCommandHelp(sender, "/mystuff chatcontrol give <player> [amount]", "Give ChatControl message tokens");
 
@@ -124,26 +146,29 @@ public class MainCommand implements CommandExecutor {
 
         PrettyLogger.info("Reloading MysterriaStuff...");
 
+        FileConfiguration previous = MysterriaStuff.getInstance().getConfigManager().getConfig();
+        MysterriaStuff.getInstance().getConfigManager().reloadConfigAsync().thenAccept(reloaded -> {
+            if (!reloaded) {
+                sender.sendMessage(Component.text("config.yml has errors, kept the previous configuration. See console for details.")
+                        .color(NamedTextColor.RED));
+                return;
+            }
+            applyReload(sender, previous);
+        });
+        return true;
+    }
 
-        MysterriaStuff.getInstance().getConfigManager().reloadConfig();
-
-
-        PrettyLogger.setDebugMode(MysterriaStuff.getInstance().getConfigManager().isDebugMode());
-
-
-        if (MysterriaStuff.getInstance().getRecipeManager() != null) {
-            MysterriaStuff.getInstance().getRecipeManager().reloadRecipes();
-        }
-
-        if (UniversalTokenManager.getInstance() != null) {
-            UniversalTokenManager.getInstance().reload();
-            PrettyLogger.info("Reloaded HMCWraps category mappings");
-        }
+    private void applyReload(CommandSender sender, FileConfiguration previous) {
+        List<Feature> changed = MysterriaStuff.getInstance().applyReload(previous);
 
         sender.sendMessage(Component.text("MysterriaStuff reloaded successfully!")
                 .color(NamedTextColor.GREEN));
+        if (!changed.isEmpty()) {
+            sender.sendMessage(Component.text("Features started, stopped or restarted: ").color(NamedTextColor.GRAY)
+                    .append(Component.text(changed.stream().map(Feature::getConfigName).collect(Collectors.joining(", ")))
+                            .color(NamedTextColor.AQUA)));
+        }
         PrettyLogger.success("Plugin reloaded by " + sender.getName());
-        return true;
     }
 
     private boolean handleGive(CommandSender sender, String[] args) {
@@ -231,17 +256,44 @@ public class MainCommand implements CommandExecutor {
                 .clickEvent(ClickEvent.copyToClipboard(encoded));
 
         sender.sendMessage(message);
-        PrettyLogger.debug("Exported item for " + sender.getName() + ": " + item.getType().name());
+        PrettyLogger.debug(() -> "Exported item for " + sender.getName() + ": " + item.getType().name());
         return true;
     }
 
-    private boolean handleDebug(CommandSender sender) {
+    private boolean handleDebug(CommandSender sender, String[] args) {
         if (!sender.hasPermission("mysterriastuff.debug")) {
             sender.sendMessage(Component.text("You don't have permission to use this command!")
                     .color(NamedTextColor.RED));
             return true;
         }
 
+        if (args.length > 1) {
+            DebugCategory category = DebugCategory.fromConfigName(args[1]);
+            if (category == null) {
+                sender.sendMessage(Component.text("Unknown debug category! Available: " + Arrays.stream(DebugCategory.values())
+                                .map(DebugCategory::getConfigName)
+                                .collect(Collectors.joining(", ")))
+                        .color(NamedTextColor.RED));
+                return true;
+            }
+
+            boolean categoryState = !PrettyLogger.getDebugCategories().contains(category);
+            PrettyLogger.setDebugEnabled(category, categoryState);
+            MysterriaStuff.getInstance().getConfigManager().setDebugCategory(category, categoryState);
+
+            sender.sendMessage(Component.text("Debug category " + category.getConfigName() + ": ")
+                    .color(NamedTextColor.YELLOW)
+                    .append(Component.text(categoryState ? "ENABLED" : "DISABLED")
+                            .color(categoryState ? NamedTextColor.GREEN : NamedTextColor.RED)));
+            sender.sendMessage(Component.text("(Saved to config.yml)")
+                    .color(NamedTextColor.GRAY));
+            if (PrettyLogger.isDebugMode()) {
+                sender.sendMessage(Component.text("Debug mode is on, so every category prints until it is turned off.")
+                        .color(NamedTextColor.GRAY));
+            }
+            return true;
+        }
+
         boolean newState = !PrettyLogger.isDebugMode();
         PrettyLogger.setDebugMode(newState);
 
@@ -285,20 +337,12 @@ public class MainCommand implements CommandExecutor {
         sender.sendMessage(Component.empty());
         sender.sendMessage(Component.text("  Active Features:").color(NamedTextColor.YELLOW));
 
-        if (config.isElytraBlockerEnabled()) {
-            sender.sendMessage(Component.text("    ➜ Reinforced Elytra Blocker").color(NamedTextColor.GREEN));
-        }
-        if (config.isLightningFixEnabled()) {
-            sender.sendMessage(Component.text("    ➜ Lightning Strike Fix (HuskTowns)").color(NamedTextColor.GREEN));
-        }
-        if (config.isCoiProtectionEnabled()) {
-            sender.sendMessage(Component.text("    ➜ CoI Dangerous Actions Listener").color(NamedTextColor.GREEN));
-        }
-        if (config.isRecipeManagerEnabled()) {
-            int recipeCount = MysterriaStuff.getInstance().getRecipeManager() != null ?
-                    MysterriaStuff.getInstance().getRecipeManager().getRecipeCount() : 0;
-            sender.sendMessage(Component.text("    ➜ Runtime Recipe Manager (" + recipeCount + " recipes)")
-                    .color(NamedTextColor.GREEN));
+        for (FeatureModule module : MysterriaStuff.getInstance().getFeatureManager().getRunning()) {
+            String name = module.getDisplayName();
+            if (module.getFeature() == Feature.RECIPE_MANAGER && MysterriaStuff.getInstance().getRecipeManager() != null) {
+                name += " (" + MysterriaStuff.getInstance().getRecipeManager().getRecipeCount() + " recipes)";
+            }
+            sender.sendMessage(Component.text("    ➜ " + name).color(NamedTextColor.GREEN));
         }
 
         sender.sendMessage(Component.empty());
@@ -316,6 +360,14 @@ public class MainCommand implements CommandExecutor {
                 .append(Component.text(config.isNightmareKeepInventory() ? "✓" : "✗")
                         .color(config.isNightmareKeepInventory() ? NamedTextColor.GREEN : NamedTextColor.RED)));
 
+        var craftingCache = MysterriaStuff.getInstance().getCraftingVerdictCache();
+        if (PrettyLogger.isDebugMode() && craftingCache != null) {
+            sender.sendMessage(Component.text("    • Crafting Verdict Cache: ").color(NamedTextColor.GRAY)
+                    .append(Component.text(craftingCache.getHits() + " hits").color(NamedTextColor.GREEN))
+                    .append(Component.text(" / ").color(NamedTextColor.GRAY))
+                    .append(Component.text(craftingCache.getMisses() + " misses").color(NamedTextColor.RED)));
+        }
+
         sender.sendMessage(Component.empty());
         sender.sendMessage(header);
 
@@ -380,6 +432,141 @@ public class MainCommand implements CommandExecutor {
         }
     }
 
+    private boolean handleRules(CommandSender sender) {
+        if (!sender.hasPermission("mysterriastuff.debug")) {
+            sender.sendMessage(Component.text("You don't have permission to use this command!")
+                    .color(NamedTextColor.RED));
+            return true;
+        }
+
+        CoIRuleEngine ruleEngine = MysterriaStuff.getInstance().getCoIRuleEngine();
+        if (ruleEngine == null) {
+            sender.sendMessage(Component.text("CoI protection is not enabled!")
+                    .color(NamedTextColor.RED));
+            return true;
+        }
+
+        List<CoIRule> rules = ruleEngine.getRules();
+        Component header = Component.text("═".repeat(40)).color(TextColor.color(0xAA55FF));
+        sender.sendMessage(header);
+        sender.sendMessage(Component.text(" CoI Protection Rules (" + rules.size() + ")")
+                .color(TextColor.color(0xFFFFFF))
+                .decorate(TextDecoration.BOLD));
+        sender.sendMessage(header);
+        sender.sendMessage(Component.empty());
+
+        if (rules.isEmpty()) {
+            sender.sendMessage(Component.text("  No rules loaded.")
+                    .color(NamedTextColor.GRAY));
+        } else {
+            for (CoIRule rule : rules) {
+                sender.sendMessage(Component.text("  ➜ ")
+                        .color(TextColor.color(0x55FF55))
+                        .append(Component.text(rule.getId()).color(NamedTextColor.AQUA))
+                        .append(Component.text(" [" + rule.getEvent().getConfigName() + ", " + rule.getVerdict().name().toLowerCase() + "] ")
+                                .color(NamedTextColor.DARK_GRAY))
+                        .append(Component.text(rule.getHits() + " hits").color(NamedTextColor.GRAY)));
+            }
+        }
+
+        sender.sendMessage(Component.empty());
+        sender.sendMessage(header);
+        return true;
+    }
+
+    private boolean handlePerf(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("mysterriastuff.debug")) {
+            sender.sendMessage(Component.text("You don't have permission to use this command!")
+                    .color(NamedTextColor.RED));
+            return true;
+        }
+
+        ListenerTimings timings = MysterriaStuff.getInstance().getListenerTimings();
+        if (timings == null || !timings.isEnabled()) {
+            sender.sendMessage(Component.text("Listener timings are disabled (performance.listener-timings)!")
+                    .color(NamedTextColor.RED));
+            return true;
+        }
+
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            timings.reset();
+            sender.sendMessage(Component.text("Listener timings reset.").color(NamedTextColor.GREEN));
+            return true;
+        }
+
+        FeatureWatchdog watchdog = MysterriaStuff.getInstance().getFeatureWatchdog();
+        if (args.length > 1 && args[1].equalsIgnoreCase("restore")) {
+            if (watchdog == null) {
+                sender.sendMessage(Component.text("The feature watchdog is disabled (performance.watchdog)!")
+                        .color(NamedTextColor.RED));
+                return true;
+            }
+            int restored = watchdog.restore();
+            sender.sendMessage(Component.text("Restored " + restored + " throttled feature(s).").color(NamedTextColor.GREEN));
+            return true;
+        }
+
+        Component header = Component.text("═".repeat(40)).color(TextColor.color(0xAA55FF));
+        sender.sendMessage(header);
+        sender.sendMessage(Component.text(" Listener Timings (" + timings.ticksSinceReset() + " ticks)")
+                .color(TextColor.color(0xFFFFFF))
+                .decorate(TextDecoration.BOLD));
+        sender.sendMessage(header);
+        sender.sendMessage(Component.empty());
+
+        Map<Feature, TimerSnapshot> byFeature = timings.snapshotByFeature();
+        if (byFeature.isEmpty()) {
+            sender.sendMessage(Component.text("  No timed listeners registered.")
+                    .color(NamedTextColor.GRAY));
+        } else {
+            sender.sendMessage(Component.text("  Features:").color(NamedTextColor.YELLOW));
+            for (Map.Entry<Feature, TimerSnapshot> entry : byFeature.entrySet()) {
+                sender.sendMessage(formatTiming(entry.getKey().getConfigName(), entry.getValue(), timings));
+            }
+
+            sender.sendMessage(Component.empty());
+            sender.sendMessage(Component.text("  Slowest handlers:").color(NamedTextColor.YELLOW));
+            for (Map.Entry<HandlerTimer, TimerSnapshot> entry : timings.slowestHandlers(10)) {
+                if (entry.getValue().count() == 0) break;
+                sender.sendMessage(formatTiming(entry.getKey().getName(), entry.getValue(), timings));
+            }
+        }
+
+        if (watchdog != null && !watchdog.getThrottled().isEmpty()) {
+            sender.sendMessage(Component.empty());
+            sender.sendMessage(Component.text("  Throttled by watchdog:").color(NamedTextColor.YELLOW));
+            for (Map.Entry<Feature, FeatureWatchdog.Action> entry : watchdog.getThrottled().entrySet()) {
+                sender.sendMessage(Component.text("    ➜ ")
+                        .color(TextColor.color(0x55FF55))
+                        .append(Component.text(entry.getKey().getConfigName()).color(NamedTextColor.AQUA))
+                        .append(Component.text(" " + entry.getValue().name().toLowerCase()).color(NamedTextColor.RED)));
+            }
+        }
+
+        sender.sendMessage(Component.empty());
+        sender.sendMessage(header);
+        return true;
+    }
+
+    private Component formatTiming(String name, TimerSnapshot snapshot, ListenerTimings timings) {
+        return Component.text("    ➜ ")
+                .color(TextColor.color(0x55FF55))
+                .append(Component.text(name).color(NamedTextColor.AQUA))
+                .append(Component.text(" " + snapshot.count() + " calls").color(NamedTextColor.GRAY))
+                .append(Component.text(" | mean " + formatNanos((long) snapshot.meanNanos())
+                        + " p99 " + formatNanos(snapshot.percentileNanos(0.99))
+                        + " max " + formatNanos(snapshot.maxNanos())).color(NamedTextColor.DARK_GRAY))
+                .append(Component.text(String.format(" | %.3f%% tick", timings.shareOfTicks(snapshot.totalNanos()) * 100))
+                        .color(NamedTextColor.GOLD));
+    }
+
+    private String formatNanos(long nanos) {
+        if (nanos >= 1_000_000) {
+            return String.format("%.2fms", nanos / 1_000_000.0);
+        }
+        return String.format("%.1fµs", nanos / 1_000.0);
+    }
+
     private boolean handleToken(CommandSender sender, String[] args) {
         if (!sender.hasPermission("mysterriastuff.token")) {
             sender.sendMessage(Component.text("You don't have permission to use this command!")
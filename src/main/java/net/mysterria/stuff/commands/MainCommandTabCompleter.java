@@ -1,5 +1,6 @@
 package net.mysterria.stuff.commands;
 
+import net.mysterria.stuff.utils.DebugCategory;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
@@ -17,7 +18,7 @@ import java.util.stream.Collectors;
 public class MainCommandTabCompleter implements TabCompleter {
 
     private static final List<String> MAIN_COMMANDS = Arrays.asList(
-            "help", "info", "status", "reload", "give", "export", "debug", "recipe", "token",
+            "help", "info", "status", "reload", "give", "export", "debug", "recipe", "rules", "perf", "token",
             "chatcontrol", "chatcontrol-confirm", "chatcontrol-cancel", "chatcontrol-restart"
     );
 
@@ -29,6 +30,10 @@ public class MainCommandTabCompleter implements TabCompleter {
             "list", "reload"
     );
 
+    private static final List<String> PERF_SUBCOMMANDS = List.of(
+            "reset", "restore"
+    );
+
     private static final List<String> TOKEN_SUBCOMMANDS = List.of(
             "give"
     );
@@ -54,6 +59,14 @@ public class MainCommandTabCompleter implements TabCompleter {
                 case "recipe" -> {
                     return filterStartingWith(RECIPE_SUBCOMMANDS, args[1]);
                 }
+                case "debug" -> {
+                    return filterStartingWith(Arrays.stream(DebugCategory.values())
+                            .map(DebugCategory::getConfigName)
+                            .collect(Collectors.toList()), args[1]);
+                }
+                case "perf" -> {
+                    return filterStartingWith(PERF_SUBCOMMANDS, args[1]);
+                }
                 case "token" -> {
                     return filterStartingWith(TOKEN_SUBCOMMANDS, args[1]);
                 }
@@ -0,0 +1,152 @@
+package net.mysterria.stuff.config;
+
+import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.hmcwraps.UniversalTokenManager;
+import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads config.yml and the HMCWraps wrap category mappings when their files change on disk.
+ * <p>
+ * Editors usually save a file as a burst of events (truncate, write, rename), so the watcher thread
+ * keeps collecting until the folders have been quiet for the debounce window and then reloads
+ * only what changed, once. Files are parsed off the main thread and the result is published with
+ * a single main-thread task, the same way {@code /mystuff reload} does it.
+ */
+public class ConfigFileWatcher implements Runnable {
+
+    private static final int CONFIG = 1;
+    private static final int WRAPS = 2;
+
+    private final MysterriaStuff plugin;
+    private final long debounceMillis;
+    private final Path configFolder;
+    private final Path wrapsFolder;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    public ConfigFileWatcher(MysterriaStuff plugin, long debounceMillis) {
+        this.plugin = plugin;
+        this.debounceMillis = debounceMillis;
+        this.configFolder = plugin.getDataFolder().toPath().toAbsolutePath();
+        this.wrapsFolder = configFolder.resolveSibling("HMCWraps").resolve("wraps");
+    }
+
+    public void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        register(configFolder);
+        if (Files.isDirectory(wrapsFolder)) {
+            register(wrapsFolder);
+        } else {
+            PrettyLogger.debug("HMCWraps wraps folder not found, only watching config.yml");
+        }
+
+        thread = new Thread(this, "MysterriaStuff-FileWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        PrettyLogger.debug("File watcher started with a " + debounceMillis + "ms debounce");
+    }
+
+    public void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                PrettyLogger.debug(() -> "Failed to close file watcher: " + e.getMessage());
+            }
+            watchService = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        WatchService service = watchService;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                int changes = collect(service.take());
+                WatchKey key;
+                while ((key = service.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changes |= collect(key);
+                }
+                dispatch(changes);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stop() was called
+        }
+    }
+
+    private void register(Path folder) throws IOException {
+        folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    private int collect(WatchKey key) {
+        Path folder = (Path) key.watchable();
+        int changes = 0;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changes |= folder.equals(configFolder) ? CONFIG : WRAPS;
+                continue;
+            }
+
+            String name = event.context().toString();
+            if (folder.equals(configFolder) && name.equals("config.yml")) {
+                changes |= CONFIG;
+            } else if (folder.equals(wrapsFolder) && name.toLowerCase().endsWith(".yml")) {
+                changes |= WRAPS;
+            }
+        }
+        key.reset();
+        return changes;
+    }
+
+    private void dispatch(int changes) {
+        if ((changes & CONFIG) != 0) {
+            reloadConfig();
+        }
+        if ((changes & WRAPS) != 0) {
+            reloadWraps();
+        }
+    }
+
+    private void reloadConfig() {
+        ConfigManager configManager = plugin.getConfigManager();
+        if (!configManager.isChangedOnDisk()) {
+            PrettyLogger.debug("Ignoring config.yml change written by the plugin itself");
+            return;
+        }
+
+        PrettyLogger.info("config.yml changed on disk, reloading...");
+        FileConfiguration previous = configManager.getConfig();
+        configManager.reloadConfigAsync().thenAccept(reloaded -> {
+            if (reloaded) {
+                plugin.applyReload(previous);
+                PrettyLogger.success("Plugin reloaded after config.yml changed");
+            }
+        });
+    }
+
+    private void reloadWraps() {
+        UniversalTokenManager manager = UniversalTokenManager.getInstance();
+        if (manager == null || manager.getCategoryMapper() == null) return;
+
+        PrettyLogger.info("HMCWraps wrap files changed, reloading category mappings...");
+        manager.getCategoryMapper().reloadOffMainThread();
+    }
+}
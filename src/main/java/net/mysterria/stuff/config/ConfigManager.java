@@ -1,14 +1,33 @@
 package net.mysterria.stuff.config;
 
 import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.features.coi.rules.CoIRuleEngine;
+import net.mysterria.stuff.utils.DebugCategory;
 import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 
 public class ConfigManager {
 
     private final MysterriaStuff plugin;
-    private FileConfiguration config;
+    private volatile FileConfiguration config;
+    private volatile ConfigSnapshot snapshot;
+    private volatile long savedModified;
 
     public ConfigManager(MysterriaStuff plugin) {
         this.plugin = plugin;
@@ -23,25 +42,111 @@ public class ConfigManager {
 
         plugin.reloadConfig();
         config = plugin.getConfig();
+        ConfigSnapshot loaded = ConfigSnapshot.from(config);
+
+        Map<String, String> problems = loaded.validate();
+        if (!problems.isEmpty()) {
+            loaded = fallBackToDefaults(problems);
+        }
+        snapshot = loaded;
 
         PrettyLogger.debug("Configuration loaded");
     }
 
-
-    public void reloadConfig() {
-        loadConfig();
-        PrettyLogger.info("Configuration reloaded");
+    /**
+     * Replaces the invalid values in memory with the ones from the bundled config.yml. Unlike a
+     * reload there is no previous configuration to keep at startup, and enabling with the bad
+     * values would fail further down.
+     */
+    private ConfigSnapshot fallBackToDefaults(Map<String, String> problems) {
+        YamlConfiguration defaults;
+        try {
+            defaults = loadDefaults();
+        } catch (IOException e) {
+            PrettyLogger.error("Failed to read the bundled config.yml: " + e.getMessage());
+            defaults = new YamlConfiguration();
+        }
+
+        for (Map.Entry<String, String> problem : problems.entrySet()) {
+            Object fallback = defaults.get(problem.getKey());
+            PrettyLogger.error("Invalid configuration: " + problem.getValue() + ", using "
+                    + (fallback != null ? fallback : "the built-in default"));
+            config.set(problem.getKey(), fallback);
+        }
+        return ConfigSnapshot.from(config);
+    }
+
+
+    /**
+     * Reads and validates config.yml on an async thread, then swaps the new configuration in on
+     * the main thread. If the file cannot be parsed or fails validation the current configuration
+     * stays in place and the future completes with false.
+     */
+    public CompletableFuture<Boolean> reloadConfigAsync() {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            YamlConfiguration loaded = new YamlConfiguration();
+            ConfigSnapshot next = null;
+            List<String> problems;
+            try {
+                loaded.setDefaults(loadDefaults());
+                loaded.load(new File(plugin.getDataFolder(), "config.yml"));
+                next = ConfigSnapshot.from(loaded);
+                problems = new ArrayList<>(next.validate().values());
+                problems.addAll(CoIRuleEngine.check(loaded));
+            } catch (IOException | InvalidConfigurationException e) {
+                problems = List.of("config.yml could not be read: " + e.getMessage());
+            }
+
+            ConfigSnapshot validated = next;
+            List<String> errors = problems;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (!errors.isEmpty()) {
+                    errors.forEach(problem -> PrettyLogger.error("Invalid configuration: " + problem));
+                    PrettyLogger.warn("Configuration not reloaded, keeping the previous settings");
+                    result.complete(false);
+                    return;
+                }
+
+                config = loaded;
+                snapshot = validated;
+                PrettyLogger.info("Configuration reloaded");
+                result.complete(true);
+            });
+        });
+        return result;
     }
 
 
     public void saveConfig() {
-        plugin.saveConfig();
-        PrettyLogger.debug("Configuration saved");
+        try {
+            File file = new File(plugin.getDataFolder(), "config.yml");
+            config.save(file);
+            savedModified = file.lastModified();
+            snapshot = ConfigSnapshot.from(config);
+            PrettyLogger.debug("Configuration saved");
+        } catch (IOException e) {
+            PrettyLogger.warn("Failed to save config.yml: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * False if config.yml on disk is still the file {@link #saveConfig()} last wrote, so the
+     * plugin's own saves can be told apart from edits.
+     */
+    public boolean isChangedOnDisk() {
+        return new File(plugin.getDataFolder(), "config.yml").lastModified() != savedModified;
+    }
+
+
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
 
     public boolean isDebugMode() {
-        return config.getBoolean("debug-mode", false);
+        return snapshot.debugMode();
     }
 
     public void setDebugMode(boolean enabled) {
@@ -49,144 +154,264 @@ public class ConfigManager {
         saveConfig();
     }
 
+    public Set<DebugCategory> getDebugCategories() {
+        return snapshot.debugCategories();
+    }
+
+    public void setDebugCategory(DebugCategory category, boolean enabled) {
+        config.set("debug-categories." + category.getConfigName(), enabled);
+        saveConfig();
+    }
+
+    public int getDebugRateLimit() {
+        return snapshot.debugRateLimit();
+    }
+
     public String getPrefixColor() {
-        return config.getString("prefix-color", "#AA55FF");
+        return snapshot.prefixColor();
     }
 
 
+    public boolean isFeatureEnabled(Feature feature) {
+        return switch (feature) {
+            case ELYTRA_BLOCKER -> isElytraBlockerEnabled();
+            case LIGHTNING_FIX -> isLightningFixEnabled();
+            case COI_PROTECTION -> isCoiProtectionEnabled();
+            case RECIPE_MANAGER -> isRecipeManagerEnabled();
+            case UNIVERSAL_TOKEN -> isUniversalTokenEnabled();
+            case BOOSTER_PATRIARCH -> isBoosterPatriarchEnabled();
+            case CHATCONTROL_TOKEN -> isChatControlTokenEnabled();
+        };
+    }
+
     public boolean isElytraBlockerEnabled() {
-        return config.getBoolean("features.elytra-blocker", true);
+        return snapshot.features().elytraBlocker();
     }
 
     public boolean isLightningFixEnabled() {
-        return config.getBoolean("features.lightning-fix", true);
+        return snapshot.features().lightningFix();
     }
 
     public boolean isCoiProtectionEnabled() {
-        return config.getBoolean("features.coi-protection", true);
+        return snapshot.features().coiProtection();
     }
 
     public boolean isBoosterPatriarchEnabled() {
-        return config.getBoolean("features.booster-patriarch", true);
+        return snapshot.features().boosterPatriarch();
     }
 
     public boolean isRecipeManagerEnabled() {
-        return config.getBoolean("features.recipe-manager", true);
+        return snapshot.features().recipeManager();
     }
 
     public boolean isUniversalTokenEnabled() {
-        return config.getBoolean("features.universal-token", true);
+        return snapshot.features().universalToken();
     }
 
     public boolean isChatControlTokenEnabled() {
-        return config.getBoolean("features.chatcontrol-token", true);
+        return snapshot.features().chatControlToken();
     }
 
 
     public boolean isResetAttributesOnJoin() {
-        return config.getBoolean("coi-protection.reset-attributes-on-join", true);
+        return snapshot.coiProtection().resetAttributesOnJoin();
     }
 
     public boolean isRestrictSpectatorNoclip() {
-        return config.getBoolean("coi-protection.restrict-spectator-noclip", true);
+        return snapshot.coiProtection().restrictSpectatorNoclip();
     }
 
     public boolean isBlockNightmarePickups() {
-        return config.getBoolean("coi-protection.block-nightmare-pickups", true);
+        return snapshot.coiProtection().blockNightmarePickups();
     }
 
     public boolean isNightmareKeepInventory() {
-        return config.getBoolean("coi-protection.nightmare-keep-inventory", true);
+        return snapshot.coiProtection().nightmareKeepInventory();
+    }
+
+
+    public boolean isListenerTimingsEnabled() {
+        return snapshot.performance().listenerTimings();
+    }
+
+    public boolean isMetricsEnabled() {
+        return snapshot.performance().metrics().enabled();
+    }
+
+    public String getMetricsBindAddress() {
+        return snapshot.performance().metrics().bindAddress();
+    }
+
+    public int getMetricsPort() {
+        return snapshot.performance().metrics().port();
+    }
+
+    public boolean isAuditEnabled() {
+        return snapshot.performance().audit().enabled();
+    }
+
+    public long getAuditFlushIntervalMillis() {
+        return snapshot.performance().audit().flushIntervalMillis();
+    }
+
+    public int getAuditFlushSizeKb() {
+        return snapshot.performance().audit().flushSizeKb();
+    }
+
+    public int getAuditMaxFileSizeMb() {
+        return snapshot.performance().audit().maxFileSizeMb();
+    }
+
+    public boolean isAuditCompressRotated() {
+        return snapshot.performance().audit().compressRotated();
+    }
+
+    public boolean isWatchdogEnabled() {
+        return snapshot.performance().watchdog().enabled();
+    }
+
+    public double getWatchdogBudgetMillis() {
+        return snapshot.performance().watchdog().budgetMillis();
+    }
+
+    public int getWatchdogConsecutiveTicks() {
+        return snapshot.performance().watchdog().consecutiveTicks();
+    }
+
+    public String getWatchdogAction() {
+        return snapshot.performance().watchdog().action();
+    }
+
+    public int getWatchdogSampleEvery() {
+        return snapshot.performance().watchdog().sampleEvery();
+    }
+
+    public boolean isWatchdogIncludeCoiProtection() {
+        return snapshot.performance().watchdog().includeCoiProtection();
+    }
+
+    public boolean isFileWatcherEnabled() {
+        return snapshot.performance().fileWatcher().enabled();
+    }
+
+    public long getFileWatcherDebounceMillis() {
+        return snapshot.performance().fileWatcher().debounceMillis();
     }
 
 
     public boolean isRecipesEnabled() {
-        return config.getBoolean("recipes.enabled", true);
+        return snapshot.recipes().enabled();
     }
 
     public int getMaxRecipes() {
-        return config.getInt("recipes.max-recipes", 100);
+        return snapshot.recipes().maxRecipes();
     }
 
     public boolean isLogRecipeChanges() {
-        return config.getBoolean("recipes.log-changes", true);
+        return snapshot.recipes().logChanges();
     }
 
 
     public String getTokenItemName() {
-        return config.getString("universal-token.item-name", "&6&lUniversal Wrap Token");
+        return snapshot.universalToken().itemName();
     }
 
-    public java.util.List<String> getTokenItemLore() {
-        return config.getStringList("universal-token.item-lore");
+    public List<String> getTokenItemLore() {
+        return snapshot.universalToken().itemLore();
     }
 
     public String getGuiMainTitle() {
-        return config.getString("universal-token.gui-main-title", "&6Universal Token - Categories");
+        return snapshot.universalToken().guiMainTitle();
     }
 
     public String getGuiCategoryTitle() {
-        return config.getString("universal-token.gui-category-title", "&6{category} Wraps");
+        return snapshot.universalToken().guiCategoryTitle();
     }
 
     public String getGuiConfirmTitle() {
-        return config.getString("universal-token.gui-confirm-title", "&cConfirm Exchange?");
+        return snapshot.universalToken().guiConfirmTitle();
     }
 
     public String getTokenMessage(String key) {
-        return config.getString("universal-token.messages." + key, "");
+        return snapshot.universalToken().messages().getOrDefault(key, "");
+    }
+
+
+    public Map<String, String> getTokenMessages() {
+        return snapshot.universalToken().messages();
     }
 
 
     public String getChatControlTokenName() {
-        return config.getString("chatcontrol-token.item-name", "&b&lCustom Message Token");
+        return snapshot.chatControlToken().itemName();
     }
 
-    public java.util.List<String> getChatControlTokenLore() {
-        return config.getStringList("chatcontrol-token.item-lore");
+    public List<String> getChatControlTokenLore() {
+        return snapshot.chatControlToken().itemLore();
     }
 
     public String getChatControlMessage(String key) {
-        return config.getString("chatcontrol-token.messages." + key, "");
+        return snapshot.chatControlToken().messages().getOrDefault(key, "");
+    }
+
+
+    public Map<String, String> getChatControlMessages() {
+        return snapshot.chatControlToken().messages();
     }
 
 
     public boolean isUseColors() {
-        return config.getBoolean("logging.use-colors", true);
+        return snapshot.logging().useColors();
     }
 
     public boolean isShowHeader() {
-        return config.getBoolean("logging.show-header", true);
+        return snapshot.logging().showHeader();
     }
 
     public String getMinLogLevel() {
-        return config.getString("logging.min-level", "INFO");
+        return snapshot.logging().minLevel();
     }
 
     public boolean isLogCommands() {
-        return config.getBoolean("logging.log-commands", true);
+        return snapshot.logging().logCommands();
     }
 
     public boolean isLogFeatures() {
-        return config.getBoolean("logging.log-features", true);
+        return snapshot.logging().logFeatures();
+    }
+
+    public boolean isAsyncLogging() {
+        return snapshot.logging().async();
     }
 
 
     public boolean isAsyncProcessing() {
-        return config.getBoolean("performance.async-processing", true);
+        return snapshot.performance().asyncProcessing();
     }
 
     public boolean isEnableCaching() {
-        return config.getBoolean("performance.enable-caching", true);
+        return snapshot.performance().enableCaching();
     }
 
 
     public int getConfigVersion() {
-        return config.getInt("config-version", 1);
+        return snapshot.configVersion();
     }
 
 
     public FileConfiguration getConfig() {
         return config;
     }
+
+    private YamlConfiguration loadDefaults() throws IOException {
+        YamlConfiguration defaults = new YamlConfiguration();
+        try (InputStream in = plugin.getResource("config.yml")) {
+            if (in != null) {
+                defaults.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+        } catch (InvalidConfigurationException e) {
+            throw new IOException(e);
+        }
+        return defaults;
+    }
 }
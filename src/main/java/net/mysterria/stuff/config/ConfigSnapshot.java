@@ -0,0 +1,214 @@
+package net.mysterria.stuff.config;
+
+import net.mysterria.stuff.utils.DebugCategory;
+import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Every setting from config.yml, read once and frozen.
+ * <p>
+ * {@link ConfigManager} publishes one of these through a volatile field and replaces it as a whole
+ * on reload, so a reader on any thread sees either the old or the new configuration, never a mix.
+ */
+public record ConfigSnapshot(
+        boolean debugMode,
+        Set<DebugCategory> debugCategories,
+        int debugRateLimit,
+        String prefixColor,
+        Features features,
+        CoIProtection coiProtection,
+        Logging logging,
+        Performance performance,
+        Recipes recipes,
+        UniversalToken universalToken,
+        ChatControlToken chatControlToken,
+        int configVersion
+) {
+
+    public record Features(boolean elytraBlocker, boolean lightningFix, boolean coiProtection, boolean boosterPatriarch,
+                           boolean recipeManager, boolean universalToken, boolean chatControlToken) {
+    }
+
+    public record CoIProtection(boolean resetAttributesOnJoin, boolean restrictSpectatorNoclip,
+                                boolean blockNightmarePickups, boolean nightmareKeepInventory) {
+    }
+
+    public record Logging(boolean useColors, boolean showHeader, String minLevel, boolean logCommands,
+                          boolean logFeatures, boolean async) {
+    }
+
+    public record Performance(boolean asyncProcessing, boolean enableCaching, boolean listenerTimings,
+                              Metrics metrics, Audit audit, Watchdog watchdog, FileWatcher fileWatcher) {
+    }
+
+    public record Metrics(boolean enabled, String bindAddress, int port) {
+    }
+
+    public record Audit(boolean enabled, long flushIntervalMillis, int flushSizeKb, int maxFileSizeMb,
+                        boolean compressRotated) {
+    }
+
+    public record Watchdog(boolean enabled, double budgetMillis, int consecutiveTicks, String action,
+                           int sampleEvery, boolean includeCoiProtection) {
+    }
+
+    public record FileWatcher(boolean enabled, long debounceMillis) {
+    }
+
+    public record Recipes(boolean enabled, int maxRecipes, boolean logChanges) {
+    }
+
+    public record UniversalToken(String itemName, List<String> itemLore, String guiMainTitle, String guiCategoryTitle,
+                                 String guiConfirmTitle, Map<String, String> messages) {
+    }
+
+    public record ChatControlToken(String itemName, List<String> itemLore, Map<String, String> messages) {
+    }
+
+    public static ConfigSnapshot from(FileConfiguration config) {
+        Set<DebugCategory> debugCategories = EnumSet.noneOf(DebugCategory.class);
+        for (DebugCategory category : DebugCategory.values()) {
+            if (config.getBoolean("debug-categories." + category.getConfigName(), false)) {
+                debugCategories.add(category);
+            }
+        }
+
+        return new ConfigSnapshot(
+                config.getBoolean("debug-mode", false),
+                Set.copyOf(debugCategories),
+                config.getInt("debug-rate-limit", 20),
+                config.getString("prefix-color", "#AA55FF"),
+                new Features(
+                        config.getBoolean("features.elytra-blocker", true),
+                        config.getBoolean("features.lightning-fix", true),
+                        config.getBoolean("features.coi-protection", true),
+                        config.getBoolean("features.booster-patriarch", true),
+                        config.getBoolean("features.recipe-manager", true),
+                        config.getBoolean("features.universal-token", true),
+                        config.getBoolean("features.chatcontrol-token", true)),
+                new CoIProtection(
+                        config.getBoolean("coi-protection.reset-attributes-on-join", true),
+                        config.getBoolean("coi-protection.restrict-spectator-noclip", true),
+                        config.getBoolean("coi-protection.block-nightmare-pickups", true),
+                        config.getBoolean("coi-protection.nightmare-keep-inventory", true)),
+                new Logging(
+                        config.getBoolean("logging.use-colors", true),
+                        config.getBoolean("logging.show-header", true),
+                        config.getString("logging.min-level", "INFO"),
+                        config.getBoolean("logging.log-commands", true),
+                        config.getBoolean("logging.log-features", true),
+                        config.getBoolean("logging.async", false)),
+                new Performance(
+                        config.getBoolean("performance.async-processing", true),
+                        config.getBoolean("performance.enable-caching", true),
+                        config.getBoolean("performance.listener-timings", true),
+                        new Metrics(
+                                config.getBoolean("performance.metrics.enabled", false),
+                                config.getString("performance.metrics.bind-address", "127.0.0.1"),
+                                config.getInt("performance.metrics.port", 9465)),
+                        new Audit(
+                                config.getBoolean("performance.audit.enabled", true),
+                                config.getLong("performance.audit.flush-interval-ms", 1000),
+                                config.getInt("performance.audit.flush-size-kb", 64),
+                                config.getInt("performance.audit.max-file-size-mb", 64),
+                                config.getBoolean("performance.audit.compress-rotated", true)),
+                        new Watchdog(
+                                config.getBoolean("performance.watchdog.enabled", false),
+                                config.getDouble("performance.watchdog.budget-ms", 5.0),
+                                config.getInt("performance.watchdog.consecutive-ticks", 20),
+                                config.getString("performance.watchdog.action", "SAMPLE"),
+                                config.getInt("performance.watchdog.sample-every", 4),
+                                config.getBoolean("performance.watchdog.include-coi-protection", false)),
+                        new FileWatcher(
+                                config.getBoolean("performance.file-watcher.enabled", false),
+                                config.getLong("performance.file-watcher.debounce-ms", 500))),
+                new Recipes(
+                        config.getBoolean("recipes.enabled", true),
+                        config.getInt("recipes.max-recipes", 100),
+                        config.getBoolean("recipes.log-changes", true)),
+                new UniversalToken(
+                        config.getString("universal-token.item-name", "&6&lUniversal Wrap Token"),
+                        List.copyOf(config.getStringList("universal-token.item-lore")),
+                        config.getString("universal-token.gui-main-title", "&6Universal Token - Categories"),
+                        config.getString("universal-token.gui-category-title", "&6{category} Wraps"),
+                        config.getString("universal-token.gui-confirm-title", "&cConfirm Exchange?"),
+                        messages(config.getConfigurationSection("universal-token.messages"))),
+                new ChatControlToken(
+                        config.getString("chatcontrol-token.item-name", "&b&lCustom Message Token"),
+                        List.copyOf(config.getStringList("chatcontrol-token.item-lore")),
+                        messages(config.getConfigurationSection("chatcontrol-token.messages"))),
+                config.getInt("config-version", 1)
+        );
+    }
+
+    /**
+     * Problems that make this configuration unsafe to switch to, keyed by the config path at
+     * fault. Empty if there are none.
+     */
+    public Map<String, String> validate() {
+        Map<String, String> problems = new LinkedHashMap<>();
+        if (PrettyLogger.LogLevel.fromName(logging.minLevel()) == null) {
+            problems.put("logging.min-level", "logging.min-level '" + logging.minLevel() + "' is not a log level");
+        }
+        if (debugRateLimit < 0) {
+            problems.put("debug-rate-limit", "debug-rate-limit must not be negative");
+        }
+        if (performance.metrics().port() < 1 || performance.metrics().port() > 65535) {
+            problems.put("performance.metrics.port", "performance.metrics.port must be between 1 and 65535");
+        }
+        if (performance.audit().flushIntervalMillis() <= 0) {
+            problems.put("performance.audit.flush-interval-ms", "performance.audit.flush-interval-ms must be positive");
+        }
+        if (performance.audit().flushSizeKb() <= 0) {
+            problems.put("performance.audit.flush-size-kb", "performance.audit.flush-size-kb must be positive");
+        }
+        if (performance.audit().maxFileSizeMb() < 0) {
+            problems.put("performance.audit.max-file-size-mb", "performance.audit.max-file-size-mb must not be negative");
+        }
+        Watchdog watchdog = performance.watchdog();
+        String action = watchdog.action().toUpperCase(Locale.ROOT);
+        if (!action.equals("SAMPLE") && !action.equals("UNREGISTER")) {
+            problems.put("performance.watchdog.action", "performance.watchdog.action must be SAMPLE or UNREGISTER");
+        }
+        if (watchdog.budgetMillis() <= 0) {
+            problems.put("performance.watchdog.budget-ms", "performance.watchdog.budget-ms must be positive");
+        }
+        if (watchdog.consecutiveTicks() < 1) {
+            problems.put("performance.watchdog.consecutive-ticks", "performance.watchdog.consecutive-ticks must be at least 1");
+        }
+        if (watchdog.sampleEvery() < 2) {
+            problems.put("performance.watchdog.sample-every", "performance.watchdog.sample-every must be at least 2");
+        }
+        if (performance.fileWatcher().debounceMillis() <= 0) {
+            problems.put("performance.file-watcher.debounce-ms", "performance.file-watcher.debounce-ms must be positive");
+        }
+        if (recipes.maxRecipes() < 0) {
+            problems.put("recipes.max-recipes", "recipes.max-recipes must not be negative");
+        }
+        return problems;
+    }
+
+    private static Map<String, String> messages(ConfigurationSection section) {
+        if (section == null) {
+            return Map.of();
+        }
+
+        Map<String, String> messages = new HashMap<>();
+        for (String key : section.getKeys(false)) {
+            String value = section.getString(key);
+            if (value != null) {
+                messages.put(key, value);
+            }
+        }
+        return Map.copyOf(messages);
+    }
+}
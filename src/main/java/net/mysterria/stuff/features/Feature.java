@@ -0,0 +1,37 @@
+package net.mysterria.stuff.features;
+
+/**
+ * The plugin's features, named after their {@code features.*} toggles in config.yml.
+ */
+public enum Feature {
+    ELYTRA_BLOCKER("elytra-blocker"),
+    LIGHTNING_FIX("lightning-fix"),
+    COI_PROTECTION("coi-protection"),
+    RECIPE_MANAGER("recipe-manager"),
+    UNIVERSAL_TOKEN("universal-token"),
+    BOOSTER_PATRIARCH("booster-patriarch"),
+    CHATCONTROL_TOKEN("chatcontrol-token");
+
+    private final String configName;
+
+    Feature(String configName) {
+        this.configName = configName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    public String getConfigPath() {
+        return "features." + configName;
+    }
+
+    public static Feature fromConfigName(String name) {
+        for (Feature feature : values()) {
+            if (feature.configName.equalsIgnoreCase(name)) {
+                return feature;
+            }
+        }
+        return null;
+    }
+}
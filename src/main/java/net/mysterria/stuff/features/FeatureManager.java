@@ -0,0 +1,171 @@
+package net.mysterria.stuff.features;
+
+import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.battlepass.ElytraBlockerModule;
+import net.mysterria.stuff.features.chatcontrol.ChatControlTokenModule;
+import net.mysterria.stuff.features.coi.BoosterPatriarchModule;
+import net.mysterria.stuff.features.coi.CoIProtectionModule;
+import net.mysterria.stuff.features.hmcwraps.UniversalTokenModule;
+import net.mysterria.stuff.features.husktowns.LightningFixModule;
+import net.mysterria.stuff.features.recipes.RecipeManagerModule;
+import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Starts, stops and restarts {@link FeatureModule}s to match the {@code features.*} toggles.
+ * <p>
+ * A module is only created when its feature is enabled, so the classes of a disabled feature, and
+ * the plugin APIs they hook into, are never loaded.
+ */
+public class FeatureManager {
+
+    private final MysterriaStuff plugin;
+    private final Map<Feature, FeatureModule> running = new EnumMap<>(Feature.class);
+
+    public FeatureManager(MysterriaStuff plugin) {
+        this.plugin = plugin;
+    }
+
+    public void enableConfigured() {
+        for (Feature feature : Feature.values()) {
+            if (plugin.getConfigManager().isFeatureEnabled(feature)) {
+                enable(feature);
+            }
+        }
+    }
+
+    public boolean enable(Feature feature) {
+        if (running.containsKey(feature)) {
+            return true;
+        }
+
+        FeatureModule module = create(feature);
+        boolean started;
+        try {
+            started = module.enable();
+        } catch (RuntimeException e) {
+            PrettyLogger.error("Failed to enable " + module.getDisplayName() + ": " + e.getMessage());
+            started = false;
+        }
+        if (!started) {
+            module.disable();
+            return false;
+        }
+
+        running.put(feature, module);
+        PrettyLogger.feature(module.getDisplayName());
+        return true;
+    }
+
+    public void disable(Feature feature) {
+        FeatureModule module = running.remove(feature);
+        if (module == null) return;
+
+        try {
+            module.disable();
+        } catch (RuntimeException e) {
+            PrettyLogger.error("Error while disabling " + module.getDisplayName() + ": " + e.getMessage());
+        }
+        if (plugin.getFeatureWatchdog() != null) {
+            plugin.getFeatureWatchdog().forget(feature);
+        }
+        PrettyLogger.info("Disabled " + module.getDisplayName());
+    }
+
+    public void disableAll() {
+        List<Feature> features = new ArrayList<>(running.keySet());
+        for (int i = features.size() - 1; i >= 0; i--) {
+            disable(features.get(i));
+        }
+    }
+
+    /**
+     * Brings the running features in line with the current configuration: toggled features are
+     * started or stopped, and running features whose config sections differ from {@code previous}
+     * are restarted. Everything else is left alone.
+     *
+     * @return the features that were started, stopped or restarted
+     */
+    public List<Feature> reload(FileConfiguration previous) {
+        FileConfiguration current = plugin.getConfigManager().getConfig();
+        List<Feature> changed = new ArrayList<>();
+        for (Feature feature : Feature.values()) {
+            boolean wanted = plugin.getConfigManager().isFeatureEnabled(feature);
+            FeatureModule module = running.get(feature);
+            if (module == null) {
+                if (wanted && enable(feature)) {
+                    changed.add(feature);
+                }
+            } else if (!wanted) {
+                disable(feature);
+                changed.add(feature);
+            } else if (sectionsChanged(module, previous, current)) {
+                PrettyLogger.info("Restarting " + module.getDisplayName() + " for changed settings");
+                disable(feature);
+                enable(feature);
+                changed.add(feature);
+            }
+        }
+        return changed;
+    }
+
+    public boolean isEnabled(Feature feature) {
+        return running.containsKey(feature);
+    }
+
+    public FeatureModule get(Feature feature) {
+        return running.get(feature);
+    }
+
+    public List<FeatureModule> getRunning() {
+        return List.copyOf(running.values());
+    }
+
+    private FeatureModule create(Feature feature) {
+        return switch (feature) {
+            case ELYTRA_BLOCKER -> new ElytraBlockerModule(plugin);
+            case LIGHTNING_FIX -> new LightningFixModule(plugin);
+            case COI_PROTECTION -> new CoIProtectionModule(plugin);
+            case RECIPE_MANAGER -> new RecipeManagerModule(plugin);
+            case UNIVERSAL_TOKEN -> new UniversalTokenModule(plugin);
+            case BOOSTER_PATRIARCH -> new BoosterPatriarchModule(plugin);
+            case CHATCONTROL_TOKEN -> new ChatControlTokenModule(plugin);
+        };
+    }
+
+    private static boolean sectionsChanged(FeatureModule module, FileConfiguration previous, FileConfiguration current) {
+        for (String path : module.getConfigSections()) {
+            if (!values(previous, path).equals(values(current, path))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The leaf values under a path, keyed by their full path. Nested sections are left out because
+     * they do not compare by content.
+     */
+    private static Map<String, Object> values(FileConfiguration config, String path) {
+        Map<String, Object> values = new HashMap<>();
+        ConfigurationSection section = config.getConfigurationSection(path);
+        if (section == null) {
+            values.put(path, Objects.toString(config.get(path)));
+            return values;
+        }
+        for (String key : section.getKeys(true)) {
+            if (!section.isConfigurationSection(key)) {
+                values.put(key, Objects.toString(section.get(key)));
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,86 @@
+package net.mysterria.stuff.features;
+
+import net.mysterria.stuff.MysterriaStuff;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One feature's wiring: what it registers when it starts and what it tears down when it stops.
+ * <p>
+ * Listeners added through {@link #listen(Listener)} and tasks added through {@link #task(BukkitTask)}
+ * belong to the module and are unregistered and cancelled when it is disabled, so a stopped feature
+ * leaves nothing behind on the event bus or the scheduler.
+ */
+public abstract class FeatureModule {
+
+    protected final MysterriaStuff plugin;
+    private final Feature feature;
+    private final String displayName;
+    private final List<Listener> listeners = new ArrayList<>();
+    private final List<BukkitTask> tasks = new ArrayList<>();
+
+    protected FeatureModule(MysterriaStuff plugin, Feature feature, String displayName) {
+        this.plugin = plugin;
+        this.feature = feature;
+        this.displayName = displayName;
+    }
+
+    public Feature getFeature() {
+        return feature;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Config sections, besides the {@code features.*} toggle, whose changes restart this feature on reload.
+     */
+    public List<String> getConfigSections() {
+        return List.of();
+    }
+
+    /**
+     * Starts the feature.
+     *
+     * @return false if the feature cannot run, for example because a plugin it hooks into is missing
+     */
+    protected abstract boolean onEnable();
+
+    protected void onDisable() {
+    }
+
+    protected void listen(Listener listener) {
+        plugin.getListenerTimings().register(listener, feature);
+        listeners.add(listener);
+    }
+
+    protected BukkitTask task(BukkitTask task) {
+        tasks.add(task);
+        return task;
+    }
+
+    final boolean enable() {
+        return onEnable();
+    }
+
+    final void disable() {
+        try {
+            onDisable();
+        } finally {
+            for (Listener listener : listeners) {
+                HandlerList.unregisterAll(listener);
+            }
+            plugin.getListenerTimings().release(feature);
+            for (BukkitTask task : tasks) {
+                task.cancel();
+            }
+            listeners.clear();
+            tasks.clear();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package net.mysterria.stuff.features.battlepass;
+
+import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.features.FeatureModule;
+
+public class ElytraBlockerModule extends FeatureModule {
+
+    public ElytraBlockerModule(MysterriaStuff plugin) {
+        super(plugin, Feature.ELYTRA_BLOCKER, "Reinforced Elytra Blocker");
+    }
+
+    @Override
+    protected boolean onEnable() {
+        listen(new NetheriteElytraBlocker());
+        return true;
+    }
+}
@@ -1,5 +1,7 @@
 package net.mysterria.stuff.features.battlepass;
 
+import net.mysterria.stuff.perf.Critical;
+import net.mysterria.stuff.utils.ItemInspector;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.event.EventHandler;
@@ -7,11 +9,13 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.enchantment.PrepareItemEnchantEvent;
 import org.bukkit.event.inventory.PrepareAnvilEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
 
 public class NetheriteElytraBlocker implements Listener {
 
+    private static final NamespacedKey CUSTOM_ITEM_IDENTIFIER_KEY = new NamespacedKey("vane", "custom_item_identifier");
+    private static final String REINFORCED_ELYTRA_ID = "vane_trifles:reinforced_elytra";
+
+    @Critical
     @EventHandler
     public void onItemEnchantment(PrepareItemEnchantEvent event) {
         if (isElytra(event.getItem())) {
@@ -19,6 +23,7 @@ public class NetheriteElytraBlocker implements Listener {
         }
     }
 
+    @Critical
     @EventHandler
     public void onItemCraft(PrepareAnvilEvent event) {
         if (isElytra(event.getResult())) {
@@ -31,21 +36,7 @@ public class NetheriteElytraBlocker implements Listener {
             return false;
         }
 
-        if (item.hasItemMeta()) {
-            ItemMeta meta = item.getItemMeta();
-            PersistentDataContainer pdc = meta.getPersistentDataContainer();
-            NamespacedKey namespacedKey = getVaneNamespaceKey("custom_item_identifier");
-            if (pdc.has(namespacedKey, org.bukkit.persistence.PersistentDataType.STRING)) {
-                String value = pdc.get(namespacedKey, org.bukkit.persistence.PersistentDataType.STRING);
-                return "vane_trifles:reinforced_elytra".equals(value);
-            }
-        }
-
-        return false;
-    }
-
-    private NamespacedKey getVaneNamespaceKey(String key) {
-        return new NamespacedKey("vane", key);
+        return REINFORCED_ELYTRA_ID.equals(ItemInspector.getString(item, CUSTOM_ITEM_IDENTIFIER_KEY));
     }
 
 }
@@ -1,12 +1,16 @@
 package net.mysterria.stuff.features.chatcontrol;
 
 import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.perf.jfr.ChatControlReloadEvent;
+import net.mysterria.stuff.perf.jfr.ChatControlWriteEvent;
+import net.mysterria.stuff.utils.DebugCategory;
 import net.mysterria.stuff.utils.PrettyLogger;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -122,6 +126,8 @@ public class ChatControlFileWriter {
 
 
     private boolean writeOrUpdateMessage(File file, String username, String message, String type) {
+        ChatControlWriteEvent write = new ChatControlWriteEvent();
+        write.begin();
         try {
 
             if (!file.exists()) {
@@ -158,17 +164,34 @@ public class ChatControlFileWriter {
 
 
             Files.write(file.toPath(), lines);
+            commit(write, username, type, newSection, true);
 
-            PrettyLogger.debug("Successfully wrote " + type + " message for " + username);
+            PrettyLogger.debug(DebugCategory.CHATCONTROL, () -> "Successfully wrote " + type + " message for " + username);
             return true;
 
         } catch (IOException e) {
+            commit(write, username, type, List.of(), false);
             PrettyLogger.warn("Failed to write to " + file.getAbsolutePath() + ": " + e.getMessage());
             return false;
         }
     }
 
 
+    private void commit(ChatControlWriteEvent write, String username, String type, List<String> section, boolean success) {
+        if (write.shouldCommit()) {
+            long sectionBytes = 0;
+            for (String line : section) {
+                sectionBytes += line.getBytes(StandardCharsets.UTF_8).length + System.lineSeparator().length();
+            }
+            write.player = username;
+            write.messageType = type;
+            write.sectionBytes = sectionBytes;
+            write.success = success;
+            write.commit();
+        }
+    }
+
+
     private List<String> removePlayerSection(List<String> lines, String groupMarker) {
         List<String> result = new ArrayList<>();
         boolean inTargetSection = false;
@@ -229,10 +252,13 @@ public class ChatControlFileWriter {
         try {
 
             Bukkit.getScheduler().runTask(plugin, () -> {
+                ChatControlReloadEvent reload = new ChatControlReloadEvent();
+                reload.begin();
                 try {
 
 
                     boolean success = Bukkit.dispatchCommand(Bukkit.getConsoleSender(), "chc reload");
+                    reload.success = success;
 
                     if (success) {
                         player.sendMessage(ChatControlMessageManager.getInstance().getMessage("success"));
@@ -244,6 +270,11 @@ public class ChatControlFileWriter {
                 } catch (Exception e) {
                     player.sendMessage(ChatControlMessageManager.getInstance().getMessage("reload-error"));
                     PrettyLogger.warn("Error reloading ChatControl: " + e.getMessage());
+                } finally {
+                    if (reload.shouldCommit()) {
+                        reload.player = player.getName();
+                        reload.commit();
+                    }
                 }
             });
 
@@ -6,6 +6,8 @@ import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.mysterria.stuff.MysterriaStuff;
 import net.mysterria.stuff.config.ConfigManager;
 import net.mysterria.stuff.utils.AdventureUtil;
+import net.mysterria.stuff.utils.ItemInspector;
+import net.mysterria.stuff.utils.MessageTemplate;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
@@ -23,12 +25,14 @@ public class ChatControlMessageManager {
     private final ConfigManager configManager;
     private final NamespacedKey tokenKey;
     private final LegacyComponentSerializer serializer;
+    private final MessageTemplate.Cache templates;
 
     private ChatControlMessageManager(MysterriaStuff plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
         this.tokenKey = AdventureUtil.getNamespacedKey("chatcontrol_token");
         this.serializer = LegacyComponentSerializer.builder().character('&').build();
+        this.templates = new MessageTemplate.Cache(configManager::getChatControlMessages, serializer);
     }
 
 
@@ -44,6 +48,11 @@ public class ChatControlMessageManager {
     }
 
 
+    public static void shutdown() {
+        instance = null;
+    }
+
+
     public ItemStack createToken(int amount) {
         ItemStack token = new ItemStack(Material.PAPER, amount);
         ItemMeta meta = token.getItemMeta();
@@ -74,12 +83,7 @@ public class ChatControlMessageManager {
             return false;
         }
 
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return false;
-        }
-
-        return meta.getPersistentDataContainer().has(tokenKey, PersistentDataType.BYTE);
+        return ItemInspector.hasKey(item, tokenKey, PersistentDataType.BYTE);
     }
 
 
@@ -98,19 +102,12 @@ public class ChatControlMessageManager {
 
 
     public Component getMessage(String key) {
-        String message = configManager.getChatControlMessage(key);
-        return serializer.deserialize(message).decoration(TextDecoration.ITALIC, false);
+        return templates.get(key).render();
     }
 
 
     public Component getMessage(String key, String... placeholders) {
-        String message = configManager.getChatControlMessage(key);
-
-        for (int i = 0; i < placeholders.length - 1; i += 2) {
-            message = message.replace("{" + placeholders[i] + "}", placeholders[i + 1]);
-        }
-
-        return serializer.deserialize(message).decoration(TextDecoration.ITALIC, false);
+        return templates.get(key).render(serializer, placeholders);
     }
 
 
@@ -9,6 +9,9 @@ import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.audit.AuditLog;
+import net.mysterria.stuff.perf.Critical;
+import net.mysterria.stuff.perf.PluginMetrics;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -16,6 +19,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -61,6 +65,7 @@ public class ChatControlSessionHandler implements Listener {
     }
 
 
+    @Critical
     @EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerChat(AsyncChatEvent event) {
         Player player = event.getPlayer();
@@ -231,7 +236,13 @@ public class ChatControlSessionHandler implements Listener {
                 session.getQuitMessage()
         );
 
-        if (!success) {
+        AuditLog.record("chatcontrol_write", "player", player.getName(), "uuid", playerId.toString(),
+                "join", session.getJoinMessage(), "quit", session.getQuitMessage(), "success", String.valueOf(success));
+
+        if (success) {
+            PluginMetrics.CHATCONTROL_WRITES.increment();
+        } else {
+            PluginMetrics.CHATCONTROL_WRITE_FAILURES.increment();
             player.sendMessage(manager.getMessage("write-error"));
         }
 
@@ -260,6 +271,19 @@ public class ChatControlSessionHandler implements Listener {
     }
 
 
+    /**
+     * Cancels every open session and refunds its token, for when the handler is being shut down.
+     */
+    public void cancelAllSessions() {
+        for (PlayerSession session : new ArrayList<>(activeSessions.values())) {
+            if (session.getPlayer().isOnline()) {
+                handleCancellation(session.getPlayer());
+            }
+        }
+        activeSessions.clear();
+    }
+
+
     public void handleRestart(Player player) {
         UUID playerId = player.getUniqueId();
 
@@ -277,6 +301,7 @@ public class ChatControlSessionHandler implements Listener {
     }
 
 
+    @Critical
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         activeSessions.remove(event.getPlayer().getUniqueId());
@@ -1,5 +1,6 @@
 package net.mysterria.stuff.features.chatcontrol;
 
+import net.mysterria.stuff.perf.Critical;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -19,6 +20,7 @@ public class ChatControlTokenListener implements Listener {
     }
 
 
+    @Critical
     @EventHandler
     public void onPlayerInteract(PlayerInteractEvent event) {
         if (!event.getAction().isRightClick()) {
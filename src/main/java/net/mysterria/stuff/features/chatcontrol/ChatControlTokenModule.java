@@ -0,0 +1,38 @@
+package net.mysterria.stuff.features.chatcontrol;
+
+import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.features.FeatureModule;
+import net.mysterria.stuff.utils.PrettyLogger;
+
+public class ChatControlTokenModule extends FeatureModule {
+
+    private ChatControlSessionHandler sessionHandler;
+
+    public ChatControlTokenModule(MysterriaStuff plugin) {
+        super(plugin, Feature.CHATCONTROL_TOKEN, "ChatControl Message Token (Custom Join/Quit Messages)");
+    }
+
+    @Override
+    protected boolean onEnable() {
+        PrettyLogger.info("Initializing ChatControl Message Token system...");
+        ChatControlMessageManager.initialize(plugin);
+
+        sessionHandler = new ChatControlSessionHandler(plugin);
+        listen(sessionHandler);
+        listen(new ChatControlTokenListener(sessionHandler));
+        return true;
+    }
+
+    @Override
+    protected void onDisable() {
+        if (sessionHandler != null) {
+            sessionHandler.cancelAllSessions();
+        }
+        ChatControlMessageManager.shutdown();
+    }
+
+    public ChatControlSessionHandler getSessionHandler() {
+        return sessionHandler;
+    }
+}
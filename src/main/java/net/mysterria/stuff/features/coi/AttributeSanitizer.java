@@ -0,0 +1,94 @@
+package net.mysterria.stuff.features.coi;
+
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+
+/**
+ * Puts player attributes back to vanilla defaults, touching only what actually differs.
+ * Attributes are registry entries rather than an enum, so the defaults are kept as two
+ * parallel arrays built once.
+ */
+public final class AttributeSanitizer {
+
+    private static final Attribute[] ATTRIBUTES = {
+            Attribute.MAX_HEALTH,
+            Attribute.FOLLOW_RANGE,
+            Attribute.KNOCKBACK_RESISTANCE,
+            Attribute.STEP_HEIGHT,
+            Attribute.MOVEMENT_SPEED,
+            Attribute.FLYING_SPEED,
+            Attribute.ATTACK_DAMAGE,
+            Attribute.ATTACK_KNOCKBACK,
+            Attribute.ATTACK_SPEED,
+            Attribute.ARMOR,
+            Attribute.ARMOR_TOUGHNESS,
+            Attribute.LUCK
+    };
+
+    private static final double[] DEFAULTS = {
+            20.0,
+            16.0,
+            0.0,
+            0.6,
+            0.1,
+            0.05,
+            2.0,
+            0.0,
+            4.0,
+            0.0,
+            0.0,
+            0.0
+    };
+
+    private AttributeSanitizer() {
+    }
+
+    public static Result sanitize(Player player) {
+        int modifiersRemoved = 0;
+        int baseValuesReset = 0;
+
+        for (int i = 0; i < ATTRIBUTES.length; i++) {
+            AttributeInstance instance = player.getAttribute(ATTRIBUTES[i]);
+            if (instance == null) continue;
+
+            Collection<AttributeModifier> modifiers = instance.getModifiers();
+            if (!modifiers.isEmpty()) {
+                for (AttributeModifier modifier : modifiers) {
+                    instance.removeModifier(modifier);
+                }
+                modifiersRemoved += modifiers.size();
+            }
+
+            if (Double.compare(instance.getBaseValue(), DEFAULTS[i]) != 0) {
+                instance.setBaseValue(DEFAULTS[i]);
+                baseValuesReset++;
+            }
+        }
+
+        boolean healthClamped = false;
+        AttributeInstance maxHealth = player.getAttribute(Attribute.MAX_HEALTH);
+        if (maxHealth != null && player.getHealth() > maxHealth.getValue()) {
+            player.setHealth(maxHealth.getValue());
+            healthClamped = true;
+        }
+
+        boolean glowingCleared = false;
+        if (player.isGlowing()) {
+            player.setGlowing(false);
+            glowingCleared = true;
+        }
+
+        return new Result(modifiersRemoved, baseValuesReset, healthClamped, glowingCleared);
+    }
+
+    public record Result(int modifiersRemoved, int baseValuesReset, boolean healthClamped, boolean glowingCleared) {
+
+        public boolean changedAnything() {
+            return modifiersRemoved > 0 || baseValuesReset > 0 || healthClamped || glowingCleared;
+        }
+    }
+}
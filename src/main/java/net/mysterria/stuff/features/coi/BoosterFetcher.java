@@ -0,0 +1,173 @@
+package net.mysterria.stuff.features.coi;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Polls the booster API with conditional, compressed requests.
+ * <p>
+ * The {@code ETag} and {@code Last-Modified} of the last applied response are sent back as
+ * {@code If-None-Match} and {@code If-Modified-Since}, so an unchanged list costs a 304 without a
+ * body. With deltas enabled the last seen list version is sent as {@code ?since=<version>}; the
+ * API may then answer with {@code {"version", "added", "removed"}} instead of the full list.
+ * A plain JSON array, or {@code {"version", "boosters"}}, is always accepted as the full list.
+ * <p>
+ * Validators are only remembered once the caller has applied a result ({@link #commit(Result)}),
+ * so a response that failed to apply is fetched in full next time.
+ */
+class BoosterFetcher {
+
+    sealed interface Result permits NotModified, Full, Delta, Failed {
+        int statusCode();
+    }
+
+    record NotModified(int statusCode) implements Result {
+    }
+
+    record Full(int statusCode, Set<String> boosters, Validators validators) implements Result {
+    }
+
+    record Delta(int statusCode, Set<String> added, Set<String> removed, Validators validators) implements Result {
+    }
+
+    record Failed(int statusCode) implements Result {
+    }
+
+    record Validators(String etag, String lastModified, long version) {
+    }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final long NO_VERSION = -1;
+
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final boolean deltas;
+
+    private Validators validators = new Validators(null, null, NO_VERSION);
+
+    BoosterFetcher(HttpClient httpClient, URI uri, boolean deltas) {
+        this.httpClient = httpClient;
+        this.uri = uri;
+        this.deltas = deltas;
+    }
+
+    URI getUri() {
+        return uri;
+    }
+
+    /**
+     * @throws JsonParseException if the body is not a booster list or delta
+     */
+    Result fetch() throws IOException, InterruptedException {
+        Validators current = validators;
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(deltas && current.version() != NO_VERSION ? withSince(current.version()) : uri)
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        if (current.etag() != null) {
+            request.header("If-None-Match", current.etag());
+        }
+        if (current.lastModified() != null) {
+            request.header("If-Modified-Since", current.lastModified());
+        }
+
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        int status = response.statusCode();
+        if (status == 304) {
+            return new NotModified(status);
+        }
+        if (status != 200) {
+            return new Failed(status);
+        }
+
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+
+        JsonElement body;
+        try (Reader reader = new InputStreamReader(decode(response.body(), gzip), StandardCharsets.UTF_8)) {
+            body = JsonParser.parseReader(reader);
+        }
+
+        if (body.isJsonArray()) {
+            return new Full(status, names(body.getAsJsonArray()), new Validators(etag, lastModified, NO_VERSION));
+        }
+        if (!body.isJsonObject()) {
+            throw new JsonParseException("Expected a booster array or object");
+        }
+
+        JsonObject object = body.getAsJsonObject();
+        long version = object.has("version") ? object.get("version").getAsLong() : NO_VERSION;
+        Validators next = new Validators(etag, lastModified, version);
+        if (object.has("boosters")) {
+            return new Full(status, names(object.getAsJsonArray("boosters")), next);
+        }
+        if (object.has("added") || object.has("removed")) {
+            return new Delta(status, names(object.getAsJsonArray("added")), names(object.getAsJsonArray("removed")), next);
+        }
+        throw new JsonParseException("Booster object has neither 'boosters' nor 'added'/'removed'");
+    }
+
+    /**
+     * Remembers the validators of a result that was applied, so the next request is conditional.
+     */
+    void commit(Result result) {
+        if (result instanceof Full full) {
+            validators = full.validators();
+        } else if (result instanceof Delta delta) {
+            validators = delta.validators();
+        }
+    }
+
+    /**
+     * Forgets the validators so the next request fetches the full list.
+     */
+    void reset() {
+        validators = new Validators(null, null, NO_VERSION);
+    }
+
+    private URI withSince(long version) {
+        String query = "since=" + version;
+        String base = uri.toString();
+        return URI.create(base + (uri.getRawQuery() == null ? "?" : "&") + query);
+    }
+
+    private static InputStream decode(byte[] body, boolean gzip) throws IOException {
+        InputStream in = new ByteArrayInputStream(body);
+        return gzip ? new GZIPInputStream(in) : in;
+    }
+
+    private static Set<String> names(JsonArray array) {
+        if (array == null) {
+            return Set.of();
+        }
+
+        Set<String> names = new HashSet<>(array.size() * 2);
+        for (JsonElement element : array) {
+            names.add(element.getAsString().toLowerCase());
+        }
+        return names;
+    }
+}
@@ -1,9 +1,14 @@
 package net.mysterria.stuff.features.coi;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.audit.AuditLog;
+import net.mysterria.stuff.perf.PluginMetrics;
+import net.mysterria.stuff.perf.jfr.BoosterFetchEvent;
+import net.mysterria.stuff.utils.DebugCategory;
 import net.mysterria.stuff.utils.PrettyLogger;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -20,8 +25,6 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
@@ -34,9 +37,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class BoosterPatriarchListener implements Listener {
 
     private final MysterriaStuff plugin;
-    private final HttpClient httpClient;
     private final Gson gson;
-    private final String apiUrl;
+    private final BoosterFetcher fetcher;
     private final File dataFile;
 
     // Set of current boosters (thread-safe)
@@ -52,12 +54,13 @@ public class BoosterPatriarchListener implements Listener {
 
     public BoosterPatriarchListener(MysterriaStuff plugin) {
         this.plugin = plugin;
-        this.httpClient = HttpClient.newBuilder()
+        this.gson = new Gson();
+        HttpClient httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
-        this.gson = new Gson();
-        this.apiUrl = plugin.getConfigManager().getConfig()
-                .getString("coi-booster-patriarch.api-url", "https://api.mysterria.net/api/user/boosters");
+        this.fetcher = new BoosterFetcher(httpClient, URI.create(plugin.getConfigManager().getConfig()
+                .getString("coi-booster-patriarch.api-url", "https://api.mysterria.net/api/user/boosters")),
+                plugin.getConfigManager().getConfig().getBoolean("coi-booster-patriarch.delta-updates", false));
 
         // Get update interval from config (in seconds), default to 5 minutes
         int updateIntervalSeconds = plugin.getConfigManager().getConfig()
@@ -95,7 +98,7 @@ public class BoosterPatriarchListener implements Listener {
 
         // Run task periodically (delay = interval)
         updateTask.runTaskTimer(plugin, updateIntervalTicks, updateIntervalTicks);
-        PrettyLogger.debug("Started periodic booster update task");
+        PrettyLogger.debug(DebugCategory.BOOSTER, "Started periodic booster update task");
     }
 
     /**
@@ -103,72 +106,116 @@ public class BoosterPatriarchListener implements Listener {
      */
     private void fetchBoostersAsync() {
         Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            BoosterFetchEvent fetch = new BoosterFetchEvent();
+            fetch.begin();
+            long start = System.nanoTime();
             try {
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(apiUrl))
-                        .timeout(Duration.ofSeconds(10))
-                        .GET()
-                        .build();
-
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-                if (response.statusCode() == 200) {
-                    String[] boosters = gson.fromJson(response.body(), String[].class);
-                    updateBoosterList(boosters);
-                    PrettyLogger.debug("Fetched " + boosters.length + " boosters from API");
+                BoosterFetcher.Result result = fetcher.fetch();
+                fetch.statusCode = result.statusCode();
+
+                if (result instanceof BoosterFetcher.Full full) {
+                    updateBoosterList(full.boosters());
+                    fetcher.commit(full);
+                    fetch.boosterCount = full.boosters().size();
+                    fetch.result = "success";
+                    PluginMetrics.BOOSTER_FETCH_SUCCESS.increment();
+                    PrettyLogger.debug(DebugCategory.BOOSTER, () -> "Fetched " + full.boosters().size() + " boosters from API");
+                } else if (result instanceof BoosterFetcher.Delta delta) {
+                    applyDelta(delta.added(), delta.removed());
+                    fetcher.commit(delta);
+                    fetch.boosterCount = currentBoosters.size();
+                    fetch.result = "success";
+                    PluginMetrics.BOOSTER_FETCH_SUCCESS.increment();
+                    PrettyLogger.debug(DebugCategory.BOOSTER, () -> "Fetched booster delta: +" + delta.added().size() + " -" + delta.removed().size());
+                } else if (result instanceof BoosterFetcher.NotModified) {
+                    fetch.boosterCount = currentBoosters.size();
+                    fetch.result = "not_modified";
+                    PluginMetrics.BOOSTER_FETCH_NOT_MODIFIED.increment();
+                    PrettyLogger.debug(DebugCategory.BOOSTER, "Booster list not modified");
                 } else {
-                    PrettyLogger.warn("Failed to fetch boosters: HTTP " + response.statusCode());
+                    fetch.result = "http_error";
+                    PluginMetrics.BOOSTER_FETCH_HTTP_ERROR.increment();
+                    PrettyLogger.warn("Failed to fetch boosters: HTTP " + result.statusCode());
                 }
-            } catch (JsonSyntaxException e) {
+            } catch (JsonParseException | IllegalStateException | ClassCastException | UnsupportedOperationException e) {
+                fetch.result = "parse_error";
+                PluginMetrics.BOOSTER_FETCH_PARSE_ERROR.increment();
+                fetcher.reset();
                 PrettyLogger.warn("Failed to parse booster list JSON: " + e.getMessage());
             } catch (Exception e) {
+                fetch.result = "error";
+                PluginMetrics.BOOSTER_FETCH_ERROR.increment();
                 PrettyLogger.warn("Error fetching boosters: " + e.getMessage());
+            } finally {
+                PluginMetrics.BOOSTER_FETCH_LATENCY.record(System.nanoTime() - start);
+                if (fetch.shouldCommit()) {
+                    fetch.url = fetcher.getUri().toString();
+                    fetch.commit();
+                }
             }
         });
     }
 
     /**
-     * Update the booster list and sync roles for online players
+     * Replace the booster list and, if it changed, sync roles for online players
      */
-    private void updateBoosterList(String[] newBoosters) {
-        Set<String> newBoosterSet = new HashSet<>();
-        for (String booster : newBoosters) {
-            newBoosterSet.add(booster.toLowerCase());
+    private void updateBoosterList(Set<String> newBoosters) {
+        boolean removed = currentBoosters.retainAll(newBoosters);
+        boolean added = currentBoosters.addAll(newBoosters);
+        if (!removed && !added) {
+            PrettyLogger.debug(DebugCategory.BOOSTER, "Booster list unchanged");
+            return;
         }
 
-        Set<String> addedBoosters = new HashSet<>(newBoosterSet);
-        addedBoosters.removeAll(currentBoosters);
-
-        Set<String> removedBoosters = new HashSet<>(currentBoosters);
-        removedBoosters.removeAll(newBoosterSet);
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                syncRole(player);
+            }
+        });
+    }
 
-        // Update the current booster list
-        currentBoosters.clear();
-        currentBoosters.addAll(newBoosterSet);
+    /**
+     * Apply added/removed boosters and sync roles for just those players
+     */
+    private void applyDelta(Set<String> added, Set<String> removed) {
+        currentBoosters.removeAll(removed);
+        currentBoosters.addAll(added);
 
-        // Sync roles for online players
         Bukkit.getScheduler().runTask(plugin, () -> {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                String playerName = player.getName().toLowerCase();
-                boolean isBooster = currentBoosters.contains(playerName);
-                boolean hasRole = playersWithPatriarch.contains(playerName);
-
-                if (isBooster && !hasRole) {
-                    addPatriarchRole(player);
-                } else if (!isBooster && hasRole) {
-                    removePatriarchRole(player);
+            for (String name : added) {
+                Player player = Bukkit.getPlayerExact(name);
+                if (player != null) {
+                    syncRole(player);
+                }
+            }
+            for (String name : removed) {
+                Player player = Bukkit.getPlayerExact(name);
+                if (player != null) {
+                    syncRole(player);
                 }
             }
 
-            if (!addedBoosters.isEmpty()) {
-                PrettyLogger.debug("Added boosters: " + addedBoosters);
+            if (!added.isEmpty()) {
+                PrettyLogger.debug(DebugCategory.BOOSTER, () -> "Added boosters: " + added);
             }
-            if (!removedBoosters.isEmpty()) {
-                PrettyLogger.debug("Removed boosters: " + removedBoosters);
+            if (!removed.isEmpty()) {
+                PrettyLogger.debug(DebugCategory.BOOSTER, () -> "Removed boosters: " + removed);
             }
         });
     }
 
+    private void syncRole(Player player) {
+        String playerName = player.getName().toLowerCase();
+        boolean isBooster = currentBoosters.contains(playerName);
+        boolean hasRole = playersWithPatriarch.contains(playerName);
+
+        if (isBooster && !hasRole) {
+            addPatriarchRole(player);
+        } else if (!isBooster && hasRole) {
+            removePatriarchRole(player);
+        }
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
@@ -201,10 +248,12 @@ public class BoosterPatriarchListener implements Listener {
 
         Bukkit.getScheduler().runTask(plugin, () -> {
             boolean success = Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
+            AuditLog.record("patriarch_grant", "player", playerName, "uuid", player.getUniqueId().toString(),
+                    "success", String.valueOf(success));
             if (success) {
                 playersWithPatriarch.add(playerName.toLowerCase());
                 savePersistedData();
-                PrettyLogger.debug("Added patriarch role to booster: " + playerName);
+                PrettyLogger.debug(DebugCategory.BOOSTER, () -> "Added patriarch role to booster: " + playerName);
             } else {
                 PrettyLogger.warn("Failed to add patriarch role to: " + playerName);
             }
@@ -220,10 +269,12 @@ public class BoosterPatriarchListener implements Listener {
 
         Bukkit.getScheduler().runTask(plugin, () -> {
             boolean success = Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
+            AuditLog.record("patriarch_remove", "player", playerName, "uuid", player.getUniqueId().toString(),
+                    "success", String.valueOf(success));
             if (success) {
                 playersWithPatriarch.remove(playerName.toLowerCase());
                 savePersistedData();
-                PrettyLogger.debug("Removed patriarch role from: " + playerName);
+                PrettyLogger.debug(DebugCategory.BOOSTER, () -> "Removed patriarch role from: " + playerName);
             } else {
                 PrettyLogger.warn("Failed to remove patriarch role from: " + playerName);
             }
@@ -235,7 +286,7 @@ public class BoosterPatriarchListener implements Listener {
      */
     private void loadPersistedData() {
         if (!dataFile.exists()) {
-            PrettyLogger.debug("No persisted booster-patriarch data found, starting fresh");
+            PrettyLogger.debug(DebugCategory.BOOSTER, "No persisted booster-patriarch data found, starting fresh");
             return;
         }
 
@@ -244,7 +295,7 @@ public class BoosterPatriarchListener implements Listener {
             Set<String> loadedData = gson.fromJson(reader, setType);
             if (loadedData != null) {
                 playersWithPatriarch.addAll(loadedData);
-                PrettyLogger.debug("Loaded " + loadedData.size() + " players with patriarch role from disk");
+                PrettyLogger.debug(DebugCategory.BOOSTER, "Loaded " + loadedData.size() + " players with patriarch role from disk");
             }
         } catch (IOException | JsonSyntaxException e) {
             PrettyLogger.warn("Failed to load persisted booster-patriarch data: " + e.getMessage());
@@ -263,7 +314,7 @@ public class BoosterPatriarchListener implements Listener {
 
             try (FileWriter writer = new FileWriter(dataFile)) {
                 gson.toJson(playersWithPatriarch, writer);
-                PrettyLogger.debug("Saved booster-patriarch data to disk");
+                PrettyLogger.debug(DebugCategory.BOOSTER, "Saved booster-patriarch data to disk");
             }
         } catch (IOException e) {
             PrettyLogger.warn("Failed to save persisted booster-patriarch data: " + e.getMessage());
@@ -276,7 +327,7 @@ public class BoosterPatriarchListener implements Listener {
     public void shutdown() {
         if (updateTask != null) {
             updateTask.cancel();
-            PrettyLogger.debug("Stopped booster update task");
+            PrettyLogger.debug(DebugCategory.BOOSTER, "Stopped booster update task");
         }
     }
 }
@@ -0,0 +1,35 @@
+package net.mysterria.stuff.features.coi;
+
+import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.features.FeatureModule;
+
+import java.util.List;
+
+public class BoosterPatriarchModule extends FeatureModule {
+
+    private BoosterPatriarchListener listener;
+
+    public BoosterPatriarchModule(MysterriaStuff plugin) {
+        super(plugin, Feature.BOOSTER_PATRIARCH, "CoI Booster Patriarch System");
+    }
+
+    @Override
+    public List<String> getConfigSections() {
+        return List.of("coi-booster-patriarch");
+    }
+
+    @Override
+    protected boolean onEnable() {
+        listener = new BoosterPatriarchListener(plugin);
+        listen(listener);
+        return true;
+    }
+
+    @Override
+    protected void onDisable() {
+        if (listener != null) {
+            listener.shutdown();
+        }
+    }
+}
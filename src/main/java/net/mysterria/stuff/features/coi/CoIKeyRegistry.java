@@ -0,0 +1,71 @@
+package net.mysterria.stuff.features.coi;
+
+import net.mysterria.stuff.perf.Critical;
+import net.mysterria.stuff.utils.AdventureUtil;
+import net.mysterria.stuff.utils.DebugCategory;
+import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.NamespacedKey;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+
+/**
+ * Holds the CircleOfImagination PDC keys, resolved once instead of on every check.
+ * Keys are re-resolved when CircleOfImagination is enabled and dropped when it is disabled,
+ * so {@link #keys()} returns null exactly when CoI is not loaded.
+ */
+public class CoIKeyRegistry implements Listener {
+
+    public static final String COI_PLUGIN_NAME = "CircleOfImagination";
+
+    private static volatile Keys keys;
+
+    public static Keys keys() {
+        return keys;
+    }
+
+    public static void resolve() {
+        NamespacedKey abilityCost = AdventureUtil.getCoINamespacedKey("abilityCost");
+        if (abilityCost == null) {
+            keys = null;
+            PrettyLogger.debug(DebugCategory.COI, "CircleOfImagination not loaded, CoI keys unresolved");
+            return;
+        }
+
+        keys = new Keys(
+                abilityCost,
+                AdventureUtil.getCoINamespacedKey("shortcut"),
+                AdventureUtil.getCoINamespacedKey("fogOfHistory"),
+                AdventureUtil.getCoINamespacedKey("pathway"),
+                AdventureUtil.getCoINamespacedKey("ingredient"),
+                AdventureUtil.getCoINamespacedKey("worm-of-spirit")
+        );
+        PrettyLogger.debug(DebugCategory.COI, "Resolved CircleOfImagination keys");
+    }
+
+    @Critical
+    @EventHandler
+    public void onPluginEnable(PluginEnableEvent event) {
+        if (event.getPlugin().getName().equals(COI_PLUGIN_NAME)) {
+            resolve();
+        }
+    }
+
+    @Critical
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin().getName().equals(COI_PLUGIN_NAME)) {
+            keys = null;
+            PrettyLogger.debug(DebugCategory.COI, "CircleOfImagination disabled, CoI keys cleared");
+        }
+    }
+
+    public record Keys(NamespacedKey abilityCost,
+                       NamespacedKey shortcut,
+                       NamespacedKey fogOfHistory,
+                       NamespacedKey pathway,
+                       NamespacedKey ingredient,
+                       NamespacedKey wormOfSpirit) {
+    }
+}
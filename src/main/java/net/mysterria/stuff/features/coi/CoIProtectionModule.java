@@ -0,0 +1,70 @@
+package net.mysterria.stuff.features.coi;
+
+import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.features.FeatureModule;
+import net.mysterria.stuff.features.coi.rules.CoIRuleEngine;
+import org.bukkit.Bukkit;
+
+import java.util.List;
+
+public class CoIProtectionModule extends FeatureModule {
+
+    private static final long MATERIALS_SAVE_TICKS = 20L * 60 * 5;
+
+    private CoIRuleEngine ruleEngine;
+    private CraftingVerdictCache craftingVerdictCache;
+
+    public CoIProtectionModule(MysterriaStuff plugin) {
+        super(plugin, Feature.COI_PROTECTION, "CoI Dangerous Actions Listener");
+    }
+
+    @Override
+    public List<String> getConfigSections() {
+        return List.of("coi-protection");
+    }
+
+    @Override
+    protected boolean onEnable() {
+        CoIKeyRegistry.resolve();
+        MysticalMaterials.load(plugin.getDataFolder());
+        task(Bukkit.getScheduler().runTaskTimer(plugin, () -> MysticalMaterials.saveAsync(plugin),
+                MATERIALS_SAVE_TICKS, MATERIALS_SAVE_TICKS));
+        listen(new CoIKeyRegistry());
+        ruleEngine = new CoIRuleEngine();
+        ruleEngine.compile(plugin.getConfigManager().getConfig());
+        NightmareWorlds.scanLoadedWorlds();
+        if (plugin.getConfigManager().isBlockNightmarePickups()) {
+            NightmareWorlds.blockLoadedPickups();
+        }
+        listen(new NightmareWorlds());
+        ContainerContentScanner contentScanner = new ContainerContentScanner();
+        listen(contentScanner);
+        MysticalSlotIndex slotIndex = new MysticalSlotIndex(contentScanner);
+        slotIndex.scanOnlinePlayers();
+        listen(slotIndex);
+        craftingVerdictCache = new CraftingVerdictCache(contentScanner);
+        listen(craftingVerdictCache);
+        CrafterVerdictCache crafterVerdictCache = new CrafterVerdictCache(contentScanner);
+        listen(crafterVerdictCache);
+        listen(new DangerousActionsListener(ruleEngine, slotIndex, craftingVerdictCache, crafterVerdictCache, contentScanner));
+        listen(new LeoderoStrikeListener(plugin));
+        listen(new SpectatorNoclipListener());
+        return true;
+    }
+
+    @Override
+    protected void onDisable() {
+        MysticalMaterials.save(plugin.getDataFolder());
+        NightmareWorlds.restoreLoadedPickups();
+        NightmareWorlds.reset();
+    }
+
+    public CoIRuleEngine getRuleEngine() {
+        return ruleEngine;
+    }
+
+    public CraftingVerdictCache getCraftingVerdictCache() {
+        return craftingVerdictCache;
+    }
+}
@@ -0,0 +1,180 @@
+package net.mysterria.stuff.features.coi;
+
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import io.papermc.paper.datacomponent.item.BundleContents;
+import io.papermc.paper.datacomponent.item.ItemContainerContents;
+import net.mysterria.stuff.perf.Critical;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Classifies what is stored inside shulker boxes, bundles and anything nested in them.
+ * <p>
+ * Results are cached by the container/bundle component itself, which compares by content, so a
+ * shulker full of cobblestone is only walked the first time it is seen. Each event gets a budget
+ * of items it may walk ({@link #resetBudget()}); running out, or nesting deeper than
+ * {@link #MAX_DEPTH}, fails closed and reports the item as carrying every mystical class.
+ */
+public class ContainerContentScanner implements Listener {
+
+    private static final int MAX_ITEMS_PER_EVENT = 4096;
+    private static final int MAX_DEPTH = 8;
+    private static final int CACHE_SIZE = 1024;
+    private static final int INCOMPLETE = -1;
+
+    private final Map<Object, Integer> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Integer> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private int remaining = MAX_ITEMS_PER_EVENT;
+
+    /**
+     * Starts a new event's budget. Only event entry points call this; the caches and the slot
+     * index classify within the budget of the handler that asked them.
+     */
+    public void resetBudget() {
+        remaining = MAX_ITEMS_PER_EVENT;
+    }
+
+    /**
+     * The item's own verdict combined with everything stored inside it.
+     */
+    public int classifyDeep(ItemStack item) {
+        return MysticalItemClassifier.classify(item) | contentsVerdict(item);
+    }
+
+    public int contentsVerdict(ItemStack item) {
+        if (item == null || item.isEmpty() || CoIKeyRegistry.keys() == null) {
+            return 0;
+        }
+
+        int verdict = contentsVerdict(item, 0);
+        if (verdict == INCOMPLETE) {
+            verdict = MysticalItemClassifier.MYSTICAL | MysticalItemClassifier.WORM;
+        }
+        if (verdict != 0) {
+            MysticalMaterials.learn(item.getType());
+        }
+        return verdict;
+    }
+
+    /**
+     * Removes every stored item whose verdict matches {@code denied}, at any nesting depth.
+     * Shulker slots are emptied in place so the remaining items keep their positions.
+     *
+     * @return true if the item was changed
+     */
+    public boolean stripContents(ItemStack item, IntPredicate denied) {
+        return stripContents(item, denied, 0);
+    }
+
+    @Critical
+    @EventHandler
+    public void onCoIEnable(PluginEnableEvent event) {
+        if (event.getPlugin().getName().equals(CoIKeyRegistry.COI_PLUGIN_NAME)) {
+            cache.clear();
+        }
+    }
+
+    private int contentsVerdict(ItemStack item, int depth) {
+        Object component;
+        List<ItemStack> contents;
+        if (item.hasData(DataComponentTypes.CONTAINER)) {
+            ItemContainerContents container = item.getData(DataComponentTypes.CONTAINER);
+            component = container;
+            contents = container.contents();
+        } else if (item.hasData(DataComponentTypes.BUNDLE_CONTENTS)) {
+            BundleContents bundle = item.getData(DataComponentTypes.BUNDLE_CONTENTS);
+            component = bundle;
+            contents = bundle.contents();
+        } else {
+            return 0;
+        }
+
+        if (contents.isEmpty()) {
+            return 0;
+        }
+
+        Integer cached = cache.get(component);
+        if (cached != null) {
+            return cached;
+        }
+        if (depth >= MAX_DEPTH) {
+            return INCOMPLETE;
+        }
+
+        int verdict = 0;
+        for (ItemStack inner : contents) {
+            if (--remaining < 0) {
+                return INCOMPLETE;
+            }
+            if (inner == null || inner.isEmpty()) continue;
+
+            int nested = contentsVerdict(inner, depth + 1);
+            if (nested == INCOMPLETE) {
+                return INCOMPLETE;
+            }
+            verdict |= MysticalItemClassifier.classify(inner) | nested;
+        }
+
+        cache.put(component, verdict);
+        return verdict;
+    }
+
+    private boolean stripContents(ItemStack item, IntPredicate denied, int depth) {
+        if (item == null || item.isEmpty() || depth >= MAX_DEPTH) {
+            return false;
+        }
+
+        boolean bundle;
+        List<ItemStack> contents;
+        if (item.hasData(DataComponentTypes.CONTAINER)) {
+            bundle = false;
+            contents = item.getData(DataComponentTypes.CONTAINER).contents();
+        } else if (item.hasData(DataComponentTypes.BUNDLE_CONTENTS)) {
+            bundle = true;
+            contents = item.getData(DataComponentTypes.BUNDLE_CONTENTS).contents();
+        } else {
+            return false;
+        }
+
+        List<ItemStack> kept = new ArrayList<>(contents.size());
+        boolean changed = false;
+        for (ItemStack inner : contents) {
+            if (inner != null && !inner.isEmpty() && denied.test(MysticalItemClassifier.classify(inner))) {
+                changed = true;
+                if (!bundle) {
+                    kept.add(ItemStack.empty());
+                }
+                continue;
+            }
+
+            ItemStack copy = inner == null ? ItemStack.empty() : inner.clone();
+            if (stripContents(copy, denied, depth + 1)) {
+                changed = true;
+            }
+            kept.add(copy);
+        }
+
+        if (!changed) {
+            return false;
+        }
+        if (bundle) {
+            item.setData(DataComponentTypes.BUNDLE_CONTENTS, BundleContents.bundleContents(kept));
+        } else {
+            item.setData(DataComponentTypes.CONTAINER, ItemContainerContents.containerContents(kept));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,136 @@
+package net.mysterria.stuff.features.coi;
+
+import net.mysterria.stuff.perf.Critical;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.Crafter;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Caches the combined CoI verdict of every crafter's contents by block position.
+ * <p>
+ * Clocked crafters fire CrafterCraftEvent many times per second with the same contents, so the
+ * contents are only read (through the live, non-snapshot block state) when the cached entry is
+ * missing. Entries are dropped whenever something can put items into the crafter: hoppers and
+ * droppers, player clicks and drags, and the block being broken or placed. Crafting itself only
+ * removes items, which can never turn an allowed crafter into a denied one.
+ */
+public class CrafterVerdictCache implements Listener {
+
+    private final ContainerContentScanner scanner;
+    private final Map<UUID, Map<Long, Integer>> worlds = new HashMap<>();
+
+    public CrafterVerdictCache(ContainerContentScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    public int verdictOf(Block block) {
+        Map<Long, Integer> crafters = worlds.computeIfAbsent(block.getWorld().getUID(), id -> new HashMap<>());
+        Integer cached = crafters.get(block.getBlockKey());
+        if (cached != null) {
+            return cached;
+        }
+
+        int verdict = 0;
+        if (block.getState(false) instanceof Crafter crafter) {
+            for (ItemStack item : crafter.getInventory().getContents()) {
+                verdict |= scanner.classifyDeep(item);
+            }
+        }
+        crafters.put(block.getBlockKey(), verdict);
+        return verdict;
+    }
+
+    public void invalidate(Block block) {
+        Map<Long, Integer> crafters = worlds.get(block.getWorld().getUID());
+        if (crafters != null) {
+            crafters.remove(block.getBlockKey());
+        }
+    }
+
+    private void invalidate(Inventory inventory) {
+        if (inventory.getType() != InventoryType.CRAFTER) return;
+
+        Location location = inventory.getLocation();
+        if (location != null) {
+            invalidate(location.getBlock());
+        }
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryMoveItem(InventoryMoveItemEvent event) {
+        invalidate(event.getDestination());
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        invalidate(event.getView().getTopInventory());
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        invalidate(event.getView().getTopInventory());
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        if (event.getBlock().getType() == Material.CRAFTER) {
+            invalidate(event.getBlock());
+        }
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (event.getBlock().getType() == Material.CRAFTER) {
+            invalidate(event.getBlock());
+        }
+    }
+
+    @Critical
+    @EventHandler
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Map<Long, Integer> crafters = worlds.get(event.getWorld().getUID());
+        if (crafters == null || crafters.isEmpty()) return;
+
+        int chunkX = event.getChunk().getX();
+        int chunkZ = event.getChunk().getZ();
+        crafters.keySet().removeIf(key -> Block.getBlockKeyX(key) >> 4 == chunkX && Block.getBlockKeyZ(key) >> 4 == chunkZ);
+    }
+
+    @Critical
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        worlds.remove(event.getWorld().getUID());
+    }
+
+    @Critical
+    @EventHandler
+    public void onCoIEnable(PluginEnableEvent event) {
+        if (event.getPlugin().getName().equals(CoIKeyRegistry.COI_PLUGIN_NAME)) {
+            worlds.clear();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package net.mysterria.stuff.features.coi;
+
+import net.mysterria.stuff.perf.Critical;
+import org.bukkit.Material;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the last crafting grid each viewer had and the CoI verdict of every slot in it.
+ * <p>
+ * PrepareItemCraftEvent fires on every slot change, but usually only one slot actually changed.
+ * A slot is reused when its material matches and, for items with data, the stored copy is
+ * {@link ItemStack#isSimilar(ItemStack) similar}; only changed slots are reclassified.
+ * Verdicts rather than the final decision are cached, so rule reloads take effect immediately.
+ */
+public class CraftingVerdictCache implements Listener {
+
+    private final ContainerContentScanner scanner;
+    private final Map<UUID, Grid> grids = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CraftingVerdictCache(ContainerContentScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    public int[] classify(UUID viewer, ItemStack[] matrix) {
+        Grid grid = grids.get(viewer);
+        if (grid == null || grid.size() != matrix.length) {
+            grid = new Grid(matrix.length);
+            grids.put(viewer, grid);
+        }
+
+        boolean hit = true;
+        for (int slot = 0; slot < matrix.length; slot++) {
+            if (!grid.matches(slot, matrix[slot])) {
+                grid.update(slot, matrix[slot], scanner);
+                hit = false;
+            }
+        }
+
+        if (hit) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return grid.verdicts;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Critical
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        grids.remove(event.getPlayer().getUniqueId());
+    }
+
+    @Critical
+    @EventHandler
+    public void onCoIEnable(PluginEnableEvent event) {
+        if (event.getPlugin().getName().equals(CoIKeyRegistry.COI_PLUGIN_NAME)) {
+            grids.clear();
+        }
+    }
+
+    private static final class Grid {
+
+        private final int[] verdicts;
+        private final Material[] types;
+        private final ItemStack[] snapshots;
+
+        private Grid(int size) {
+            this.verdicts = new int[size];
+            this.types = new Material[size];
+            this.snapshots = new ItemStack[size];
+        }
+
+        private int size() {
+            return verdicts.length;
+        }
+
+        private boolean matches(int slot, ItemStack item) {
+            Material type = item == null ? Material.AIR : item.getType();
+            if (types[slot] != type) {
+                return false;
+            }
+            if (type.isAir() || !item.hasItemMeta()) {
+                return snapshots[slot] == null;
+            }
+            return snapshots[slot] != null && snapshots[slot].isSimilar(item);
+        }
+
+        private void update(int slot, ItemStack item, ContainerContentScanner scanner) {
+            Material type = item == null ? Material.AIR : item.getType();
+            types[slot] = type;
+            if (type.isAir() || !item.hasItemMeta()) {
+                verdicts[slot] = 0;
+                snapshots[slot] = null;
+            } else {
+                verdicts[slot] = scanner.classifyDeep(item);
+                snapshots[slot] = item.asOne();
+            }
+        }
+    }
+}
@@ -2,14 +2,15 @@ package net.mysterria.stuff.features.coi;
 
 
 import net.mysterria.stuff.MysterriaStuff;
-import net.mysterria.stuff.utils.AdventureUtil;
+import net.mysterria.stuff.features.coi.rules.CoIItemClass;
+import net.mysterria.stuff.features.coi.rules.CoIRuleEngine;
+import net.mysterria.stuff.features.coi.rules.RuleEvent;
+import net.mysterria.stuff.perf.jfr.CoICheckEvent;
+import net.mysterria.stuff.utils.DebugCategory;
 import net.mysterria.stuff.utils.PrettyLogger;
 import org.bukkit.*;
-import org.bukkit.attribute.Attribute;
-import org.bukkit.attribute.AttributeInstance;
-import org.bukkit.attribute.AttributeModifier;
-import org.bukkit.block.Crafter;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.ItemFrame;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -20,31 +21,41 @@ import org.bukkit.event.entity.EntityPickupItemEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.event.inventory.PrepareItemCraftEvent;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.InventoryView;
+import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.persistence.PersistentDataContainer;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import org.bukkit.inventory.PlayerInventory;
 
 public class DangerousActionsListener implements Listener {
 
+    private static final int OFF_HAND_SLOT = 40;
+
+    private final CoIRuleEngine rules;
+    private final MysticalSlotIndex slotIndex;
+    private final CraftingVerdictCache craftingCache;
+    private final CrafterVerdictCache crafterCache;
+    private final ContainerContentScanner scanner;
+
+    public DangerousActionsListener(CoIRuleEngine rules, MysticalSlotIndex slotIndex, CraftingVerdictCache craftingCache, CrafterVerdictCache crafterCache,
+                                    ContainerContentScanner scanner) {
+        this.rules = rules;
+        this.slotIndex = slotIndex;
+        this.craftingCache = craftingCache;
+        this.crafterCache = crafterCache;
+        this.scanner = scanner;
+    }
 
     @EventHandler
     public void onItemPickup(EntityPickupItemEvent event) {
-        if (!MysterriaStuff.getInstance().getConfigManager().isBlockNightmarePickups()) {
-            return;
-        }
+        // Pickups in nightmare worlds are normally stopped by NightmareWorlds before they happen
+        if (!NightmareWorlds.isNightmare(event.getEntity().getWorld())) return;
 
-        if (event.getEntity().getWorld().getName().startsWith("world_nightmare_")) {
+        if (MysterriaStuff.getInstance().getConfigManager().isBlockNightmarePickups()) {
             event.setCancelled(true);
         }
     }
@@ -53,7 +64,7 @@ public class DangerousActionsListener implements Listener {
     public void onPlayerNightmareDeath(PlayerDeathEvent event) {
         Player player = event.getPlayer();
 
-        if (player.getWorld().getName().startsWith("world_nightmare_")) {
+        if (NightmareWorlds.isNightmare(player.getWorld())) {
 
             if (MysterriaStuff.getInstance().getConfigManager().isNightmareKeepInventory()) {
                 event.setKeepInventory(true);
@@ -61,10 +72,19 @@ public class DangerousActionsListener implements Listener {
                 event.getDrops().clear();
             }
 
-            World world = Bukkit.getWorld("world");
-            if (world != null) {
-                player.teleport(world.getSpawnLocation());
-            }
+            NightmareWorlds.markPendingRespawn(player.getUniqueId());
+        }
+    }
+
+    @EventHandler
+    public void onPlayerNightmareRespawn(PlayerRespawnEvent event) {
+        if (!NightmareWorlds.takePendingRespawn(event.getPlayer().getUniqueId())) return;
+        // A bed or respawn anchor wins, as it did when the player was teleported on death
+        if (event.isBedSpawn() || event.isAnchorSpawn()) return;
+
+        Location spawn = NightmareWorlds.getRespawnLocation();
+        if (spawn != null) {
+            event.setRespawnLocation(spawn);
         }
     }
 
@@ -76,209 +96,152 @@ public class DangerousActionsListener implements Listener {
         }
 
         Player player = event.getPlayer();
-        resetAllAttributes(player);
-    }
-
-    private void resetAllAttributes(Player player) {
-        Map<Attribute, Double> defaultValues = new HashMap<>();
-        defaultValues.put(Attribute.MAX_HEALTH, 20.0);
-        defaultValues.put(Attribute.FOLLOW_RANGE, 16.0);
-        defaultValues.put(Attribute.KNOCKBACK_RESISTANCE, 0.0);
-        defaultValues.put(Attribute.STEP_HEIGHT, 0.6);
-        defaultValues.put(Attribute.MOVEMENT_SPEED, 0.1);
-        defaultValues.put(Attribute.FLYING_SPEED, 0.05);
-        defaultValues.put(Attribute.ATTACK_DAMAGE, 2.0);
-        defaultValues.put(Attribute.ATTACK_KNOCKBACK, 0.0);
-        defaultValues.put(Attribute.ATTACK_SPEED, 4.0);
-        defaultValues.put(Attribute.ARMOR, 0.0);
-        defaultValues.put(Attribute.ARMOR_TOUGHNESS, 0.0);
-        defaultValues.put(Attribute.LUCK, 0.0);
-
-        for (Map.Entry<Attribute, Double> entry : defaultValues.entrySet()) {
-            AttributeInstance instance = player.getAttribute(entry.getKey());
-            if (instance != null) {
-                for (AttributeModifier modifier : new ArrayList<>(instance.getModifiers())) {
-                    instance.removeModifier(modifier);
-                }
-                double trueDefault = entry.getValue();
-                instance.setBaseValue(trueDefault);
-            }
+        AttributeSanitizer.Result result = AttributeSanitizer.sanitize(player);
+        if (result.changedAnything()) {
+            PrettyLogger.debug(DebugCategory.COI, () -> "Reset attributes for " + player.getName() + ": "
+                    + result.modifiersRemoved() + " modifiers removed, "
+                    + result.baseValuesReset() + " base values reset"
+                    + (result.healthClamped() ? ", health clamped" : "")
+                    + (result.glowingCleared() ? ", glowing cleared" : ""));
         }
-
-        double maxHealth = player.getAttribute(Attribute.MAX_HEALTH).getValue();
-        player.setHealth(Math.min(player.getHealth(), maxHealth));
-        player.setGlowing(false);
-
-        PrettyLogger.debug("Completed attribute reset for player: " + player.getName());
     }
 
     @EventHandler
     public void onPlayerDeath(PlayerDeathEvent event) {
         if (event.getDrops() == null) return;
+        Player player = event.getPlayer();
 
+        // Drops are classified one by one rather than trusting the slot index: items given in the
+        // same tick, or added by other plugins, are not indexed yet
         try {
-            List<ItemStack> itemsToRemove = new ArrayList<>();
-            for (ItemStack item : event.getDrops()) {
-                if (checkForNonIngredientMysticalAlignment(item)) {
-                    itemsToRemove.add(item);
+            scanner.resetBudget();
+            event.getDrops().removeIf(item -> {
+                if (isDenied(player, RuleEvent.DEATH_DROP, MysticalItemClassifier.classify(item))) {
+                    return true;
                 }
-            }
-            event.getDrops().removeAll(itemsToRemove);
+                if (isDenied(player, RuleEvent.DEATH_DROP, scanner.contentsVerdict(item))) {
+                    scanner.stripContents(item, verdict -> rules.isDenied(RuleEvent.DEATH_DROP, verdict));
+                }
+                return false;
+            });
         } catch (Exception e) {
-            PrettyLogger.debug("Error in DupeListener, probably due to a comodification error");
+            PrettyLogger.debug(DebugCategory.COI, "Error in DupeListener, probably due to a comodification error");
         }
     }
 
     @EventHandler
     public void onCraftEvent(CrafterCraftEvent event) {
-        Crafter crafter = (Crafter) event.getBlock().getState();
-        Inventory crafterInventory = crafter.getInventory();
-        ItemStack[] matrix = crafterInventory.getContents();
-
-        for (ItemStack ingredient : matrix) {
-            if (ingredient == null || ingredient.getType() == Material.AIR) continue;
+        scanner.resetBudget();
+        if (isDenied(null, RuleEvent.CRAFTER, crafterCache.verdictOf(event.getBlock()), InventoryType.CRAFTER, null, null)) {
+            event.setCancelled(true);
+            return;
+        }
 
-            if (checkForMysticalAlignment(ingredient)) {
-                event.setCancelled(true);
-                return;
-            }
+        if (isDenied(null, RuleEvent.CRAFTER_RESULT, MysticalItemClassifier.classify(event.getResult()), InventoryType.CRAFTER, null, null)) {
+            event.setCancelled(true);
         }
+    }
 
-        ItemStack item = event.getResult();
-        if (item == null) return;
-        if (item.getType() == Material.AIR) return;
-        if (item.hasItemMeta()) {
-            PersistentDataContainer container = item.getItemMeta().getPersistentDataContainer();
-            NamespacedKey abilityCostKey = AdventureUtil.getCoINamespacedKey("abilityCost");
-            NamespacedKey shortcutKey = AdventureUtil.getCoINamespacedKey("shortcut");
-            if (abilityCostKey != null && shortcutKey != null) {
-                if (container.has(abilityCostKey) || container.has(shortcutKey)) {
-                    event.setCancelled(true);
-                }
-            }
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        ItemStack current = event.getCurrentItem();
+        ItemStack cursor = event.getCursor();
+        scanner.resetBudget();
+        int currentVerdict = clickedVerdict(event, current);
 
-            NamespacedKey pathwayKey = AdventureUtil.getCoINamespacedKey("pathway");
-            if (pathwayKey != null && container.has(pathwayKey)) {
-                event.setCancelled(true);
-            }
+        if (currentVerdict != 0) {
+            applyMysticalClickRules(event, current, currentVerdict);
+        }
 
-            NamespacedKey ingredientKey = AdventureUtil.getCoINamespacedKey("ingredient");
-            if (ingredientKey != null && container.has(ingredientKey)) {
-                event.setCancelled(true);
-            }
+        applyCraftingSlotRules(event, cursor);
 
+        if (current != null && cursor.getType() != Material.AIR) {
+            applyPouchRules(event, current, currentVerdict, cursor);
+        }
+    }
 
+    private int clickedVerdict(InventoryClickEvent event, ItemStack current) {
+        if (event.getWhoClicked() instanceof Player player && event.getClickedInventory() == player.getInventory()) {
+            return slotIndex.verdictAt(player, event.getSlot(), current);
         }
+        return scanner.classifyDeep(current);
     }
 
-    @EventHandler
-    public void onItemMoveEvent(InventoryClickEvent event) {
-        ItemStack item = event.getCurrentItem();
-        if (item == null) return;
-        if (item.getType() == Material.AIR) return;
-
-        PersistentDataContainer container = item.getItemMeta().getPersistentDataContainer();
-
-        NamespacedKey abilityCostKey = AdventureUtil.getCoINamespacedKey("abilityCost");
-        NamespacedKey shortcutKey = AdventureUtil.getCoINamespacedKey("shortcut");
-        NamespacedKey fogOfHistoryKey = AdventureUtil.getCoINamespacedKey("fogOfHistory");
-        if (abilityCostKey != null && shortcutKey != null && fogOfHistoryKey != null) {
-            if (container.has(abilityCostKey) || container.has(shortcutKey) || container.has(fogOfHistoryKey)) {
-                InventoryView view = event.getView();
-                if (view.getType() != InventoryType.CRAFTING) {
-                    event.setCancelled(true);
-                }
-            }
+    private void applyMysticalClickRules(InventoryClickEvent event, ItemStack current, int verdict) {
+        if (isDenied(event.getWhoClicked(), RuleEvent.CLICK, verdict, event.getView().getType(), event.getSlotType(), event.getAction())) {
+            event.setCancelled(true);
         }
 
-        NamespacedKey pathwayKey = AdventureUtil.getCoINamespacedKey("pathway");
-        if (pathwayKey != null && container.has(pathwayKey)) {
-            InventoryView view = event.getView();
-            event.setCancelled(!(view.getType() == InventoryType.CRAFTING || view.getType() == InventoryType.CHEST || view.getType() == InventoryType.ENDER_CHEST || view.getType() == InventoryType.SHULKER_BOX || view.getType() == InventoryType.BARREL));
+        if (MysticalItemClassifier.has(verdict, MysticalItemClassifier.SPELL) && event.getWhoClicked() instanceof Player) {
+            if (current.getAmount() > 1) {
+                current.setAmount(1);
+            }
         }
     }
 
-    @EventHandler
-    public void onInventoryInteraction(InventoryClickEvent event) {
-        ItemStack item = event.getCurrentItem();
-        if (item == null) return;
-        if (item.getType() == Material.AIR) return;
-        if (event.getWhoClicked() instanceof Player player) {
-            PersistentDataContainer container = item.getItemMeta().getPersistentDataContainer();
-            NamespacedKey abilityCostKey = AdventureUtil.getCoINamespacedKey("abilityCost");
-            NamespacedKey shortcutKey = AdventureUtil.getCoINamespacedKey("shortcut");
-            if (abilityCostKey != null && shortcutKey != null) {
-                if (container.has(abilityCostKey) || container.has(shortcutKey)) {
-                    if (item.getAmount() > 1) {
-                        item.setAmount(1);
-                    }
-                }
+    private void applyCraftingSlotRules(InventoryClickEvent event, ItemStack cursor) {
+        if (event.getView().getType() != InventoryType.CRAFTING) return;
+        if (event.getSlotType() != InventoryType.SlotType.CRAFTING) return;
+
+        InventoryAction action = event.getAction();
+        if (action == InventoryAction.PLACE_ALL || action == InventoryAction.PLACE_ONE || action == InventoryAction.PLACE_SOME) {
+            if (cursor.getType() == Material.AIR) return;
+            if (cursor.getType() == Material.WRITTEN_BOOK) return;
+            if (cursor.hasItemMeta()) {
+                event.setCancelled(true);
             }
+        } else if (action == InventoryAction.UNKNOWN || action == InventoryAction.HOTBAR_SWAP || action == InventoryAction.SWAP_WITH_CURSOR || action == InventoryAction.MOVE_TO_OTHER_INVENTORY || action == InventoryAction.CLONE_STACK) {
+            event.setCancelled(true);
+        } else if (action == InventoryAction.NOTHING) {
+            event.setCancelled(true);
         }
     }
 
-    @EventHandler
-    public void onMysticalItemPlacement(PlayerInteractEvent event) {
-        Action action = event.getAction();
-        if (action == Action.RIGHT_CLICK_BLOCK) {
-            ItemStack item = event.getItem();
-            if (item == null) return;
-            if (item.getType() == Material.AIR) return;
-
-            if (item.getType() == Material.PLAYER_HEAD) {
-                PersistentDataContainer container = item.getItemMeta().getPersistentDataContainer();
-                NamespacedKey pathwayKey = AdventureUtil.getCoINamespacedKey("pathway");
-                if (pathwayKey != null && container.has(pathwayKey)) {
-                    event.setCancelled(true);
-                }
-            } else {
-                PersistentDataContainer container = item.getItemMeta().getPersistentDataContainer();
-                NamespacedKey ingredientKey = AdventureUtil.getCoINamespacedKey("ingredient");
-                if (ingredientKey != null && container.has(ingredientKey)) {
-                    event.setCancelled(true);
-                }
+    private void applyPouchRules(InventoryClickEvent event, ItemStack current, int currentVerdict, ItemStack cursor) {
+        int insertedVerdict;
+        if (Tag.ITEMS_BUNDLES.isTagged(current.getType())) {
+            insertedVerdict = scanner.classifyDeep(cursor);
+        } else if (Tag.ITEMS_BUNDLES.isTagged(cursor.getType())) {
+            insertedVerdict = currentVerdict;
+        } else {
+            return;
+        }
 
-                NamespacedKey wormOfSpiritKey = AdventureUtil.getCoINamespacedKey("worm-of-spirit");
-                if (wormOfSpiritKey != null && container.has(wormOfSpiritKey)) {
-                    event.setCancelled(true);
-                }
-            }
+        if (isDenied(event.getWhoClicked(), RuleEvent.POUCH, insertedVerdict, event.getView().getType(), event.getSlotType(), event.getAction())) {
+            event.setCancelled(true);
         }
     }
 
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (event.getView().getType() == InventoryType.CRAFTING) {
-            if (event.getSlotType() == InventoryType.SlotType.CRAFTING) {
-                if (event.getAction() == InventoryAction.PLACE_ALL || event.getAction() == InventoryAction.PLACE_ONE || event.getAction() == InventoryAction.PLACE_SOME) {
-                    ItemStack item = event.getCursor();
-                    if (item.getType() == Material.AIR) return;
-                    if (item.getType() == Material.WRITTEN_BOOK) return;
-                    if (item.hasItemMeta()) {
-                        event.setCancelled(true);
-                    }
-                } else if (event.getAction() == InventoryAction.UNKNOWN || event.getAction() == InventoryAction.HOTBAR_SWAP || event.getAction() == InventoryAction.SWAP_WITH_CURSOR || event.getAction() == InventoryAction.MOVE_TO_OTHER_INVENTORY || event.getAction() == InventoryAction.CLONE_STACK) {
-                    event.setCancelled(true);
-                }
+    @EventHandler(ignoreCancelled = true)
+    public void onInventoryMoveItem(InventoryMoveItemEvent event) {
+        ItemStack item = event.getItem();
+        if (!MysticalMaterials.isKnown(item.getType())) return;
 
-                if (event.getAction() == InventoryAction.NOTHING) {
-                    event.setCancelled(true);
-                }
-            }
+        scanner.resetBudget();
+        int verdict = scanner.classifyDeep(item);
+        if (isDenied(null, RuleEvent.HOPPER, verdict, event.getDestination().getType(), null, null)) {
+            event.setCancelled(true);
         }
     }
 
     @EventHandler
-    public void onPouchItemDrop(InventoryClickEvent event) {
-        if (event.getCurrentItem() == null) return;
-        if (event.getCursor().getType() == Material.AIR) return;
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        Action action = event.getAction();
+        if (action != Action.RIGHT_CLICK_BLOCK && action != Action.RIGHT_CLICK_AIR) return;
 
-        if (Tag.ITEMS_BUNDLES.isTagged(event.getCurrentItem().getType())) {
-            if (checkForMysticalAlignment(event.getCursor())) {
-                event.setCancelled(true);
-            }
-        } else if (Tag.ITEMS_BUNDLES.isTagged(event.getCursor().getType())) {
-            if (checkForMysticalAlignment(event.getCurrentItem())) {
+        ItemStack item = event.getItem();
+        int verdict = MysticalItemClassifier.classify(item);
+        if (verdict == 0) return;
+
+        Material type = item.getType();
+        if (type == Material.ENDER_PEARL && isDenied(event.getPlayer(), RuleEvent.THROW_PEARL, verdict)) {
+            event.setCancelled(true);
+            return;
+        }
+
+        if (action == Action.RIGHT_CLICK_BLOCK) {
+            RuleEvent ruleEvent = type == Material.PLAYER_HEAD ? RuleEvent.PLACE_HEAD : RuleEvent.USE_ON_BLOCK;
+            if (isDenied(event.getPlayer(), ruleEvent, verdict)) {
                 event.setCancelled(true);
             }
         }
@@ -287,75 +250,84 @@ public class DangerousActionsListener implements Listener {
     @EventHandler
     public void onPreItemCraft(PrepareItemCraftEvent event) {
         ItemStack[] ingredients = event.getInventory().getMatrix();
-        for (ItemStack ingredient : ingredients) {
+        InventoryType inventoryType = event.getInventory().getType();
+        scanner.resetBudget();
+        int[] verdicts = craftingCache.classify(event.getView().getPlayer().getUniqueId(), ingredients);
+        boolean onlyOneItem = isOnlyNonAirItem(ingredients);
+        boolean clearResult = false;
+
+        for (int slot = 0; slot < ingredients.length; slot++) {
+            ItemStack ingredient = ingredients[slot];
             if (ingredient == null) continue;
             if (ingredient.getType() == Material.AIR) continue;
-            PersistentDataContainer container = ingredient.getItemMeta().getPersistentDataContainer();
 
-            NamespacedKey abilityCostKey = AdventureUtil.getCoINamespacedKey("abilityCost");
-            NamespacedKey shortcutKey = AdventureUtil.getCoINamespacedKey("shortcut");
-            if (abilityCostKey != null && shortcutKey != null) {
-                if (container.has(abilityCostKey) || container.has(shortcutKey)) {
-                    event.getInventory().setResult(new ItemStack(Material.AIR));
-                }
+            boolean writtenBook = ingredient.getType() == Material.WRITTEN_BOOK;
+            if (writtenBook && !onlyOneItem) {
+                clearResult = true;
+                break;
             }
 
-            if (ingredient.getType() != Material.WRITTEN_BOOK) {
-                NamespacedKey pathwayKey = AdventureUtil.getCoINamespacedKey("pathway");
-                if (pathwayKey != null && container.has(pathwayKey)) {
-                    event.getInventory().setResult(new ItemStack(Material.AIR));
-                }
-            } else {
-                if (!isOnlyNonAirItem(ingredients)) {
-                    event.getInventory().setResult(new ItemStack(Material.AIR));
-                }
+            int verdict = verdicts[slot];
+            if (writtenBook) {
+                // A pathway book on its own is a legitimate CoI recipe, the book rule above covers the rest
+                verdict &= ~MysticalItemClassifier.PATHWAY;
             }
-
-            NamespacedKey ingredientKey = AdventureUtil.getCoINamespacedKey("ingredient");
-            if (ingredientKey != null && container.has(ingredientKey)) {
-                event.getInventory().setResult(new ItemStack(Material.AIR));
+            if (isDenied(event.getView().getPlayer(), RuleEvent.CRAFT, verdict, inventoryType, null, null)) {
+                clearResult = true;
+                break;
             }
         }
+
+        if (clearResult) {
+            event.getInventory().setResult(new ItemStack(Material.AIR));
+        }
     }
 
     @EventHandler
     public void onMysticalItemItemFrame(PlayerInteractEntityEvent event) {
         Entity entity = event.getRightClicked();
-        if (event.getPlayer().isOp()) return;
+        Player player = event.getPlayer();
+        if (player.isOp()) return;
         if (entity instanceof ItemFrame) {
-            ItemStack item = event.getPlayer().getInventory().getItemInMainHand();
-            ItemStack offHandItem = event.getPlayer().getInventory().getItemInOffHand();
-            if (checkForMysticalAlignment(item) || checkForMysticalAlignment(offHandItem)) {
+            scanner.resetBudget();
+            PlayerInventory inventory = player.getInventory();
+            int mainHandVerdict;
+            int offHandVerdict;
+            if (slotIndex.hasMysticalItems(player)) {
+                mainHandVerdict = slotIndex.verdictAt(player, inventory.getHeldItemSlot(), inventory.getItemInMainHand());
+                offHandVerdict = slotIndex.verdictAt(player, OFF_HAND_SLOT, inventory.getItemInOffHand());
+            } else {
+                // The index may not have seen an item that arrived this tick yet
+                mainHandVerdict = scanner.classifyDeep(inventory.getItemInMainHand());
+                offHandVerdict = scanner.classifyDeep(inventory.getItemInOffHand());
+            }
+            if (isDenied(player, RuleEvent.ITEM_FRAME, mainHandVerdict)
+                    || isDenied(player, RuleEvent.ITEM_FRAME, offHandVerdict)) {
                 event.setCancelled(true);
             }
         }
     }
 
-    @EventHandler
-    public void onPlayerThrowEnderPearl(PlayerInteractEvent event) {
-        if (event.getAction() == Action.RIGHT_CLICK_AIR || event.getAction() == Action.RIGHT_CLICK_BLOCK) {
-            ItemStack item = event.getItem();
-            if (item != null && item.getType() == Material.ENDER_PEARL) {
-                PersistentDataContainer container = item.getItemMeta().getPersistentDataContainer();
-                NamespacedKey ingredientKey = AdventureUtil.getCoINamespacedKey("ingredient");
-                if (ingredientKey != null && container.has(ingredientKey)) {
-                    event.setCancelled(true);
-                }
-            }
-        }
+    private boolean isDenied(HumanEntity player, RuleEvent ruleEvent, int verdict) {
+        return isDenied(player, ruleEvent, verdict, null, null, null);
     }
 
-    private boolean checkForNonIngredientMysticalAlignment(ItemStack item) {
-        if (item.getType() != Material.AIR) {
-            PersistentDataContainer container = item.getItemMeta().getPersistentDataContainer();
-            NamespacedKey abilityCostKey = AdventureUtil.getCoINamespacedKey("abilityCost");
-            NamespacedKey shortcutKey = AdventureUtil.getCoINamespacedKey("shortcut");
-            NamespacedKey fogOfHistoryKey = AdventureUtil.getCoINamespacedKey("fogOfHistory");
-            if (abilityCostKey != null && shortcutKey != null && fogOfHistoryKey != null) {
-                return container.has(abilityCostKey) || container.has(shortcutKey) || container.has(fogOfHistoryKey);
-            }
+    private boolean isDenied(HumanEntity player, RuleEvent ruleEvent, int verdict, InventoryType inventory, InventoryType.SlotType slot, InventoryAction action) {
+        if (verdict == 0) {
+            return false;
         }
-        return false;
+
+        CoICheckEvent check = new CoICheckEvent();
+        check.begin();
+        boolean denied = rules.isDenied(ruleEvent, verdict, inventory, slot, action);
+        if (check.shouldCommit()) {
+            check.ruleEvent = ruleEvent.getConfigName();
+            check.player = player == null ? null : player.getName();
+            check.itemClasses = CoIItemClass.describe(verdict);
+            check.denied = denied;
+            check.commit();
+        }
+        return denied;
     }
 
     private boolean isOnlyNonAirItem(ItemStack[] matrix) {
@@ -371,19 +343,4 @@ public class DangerousActionsListener implements Listener {
         return nonAirCount == 1;
     }
 
-    private boolean checkForMysticalAlignment(ItemStack item) {
-        if (item.getType() != Material.AIR) {
-            PersistentDataContainer container = item.getItemMeta().getPersistentDataContainer();
-            NamespacedKey abilityCostKey = AdventureUtil.getCoINamespacedKey("abilityCost");
-            NamespacedKey shortcutKey = AdventureUtil.getCoINamespacedKey("shortcut");
-            NamespacedKey fogOfHistoryKey = AdventureUtil.getCoINamespacedKey("fogOfHistory");
-            NamespacedKey pathwayKey = AdventureUtil.getCoINamespacedKey("pathway");
-            NamespacedKey ingredientKey = AdventureUtil.getCoINamespacedKey("ingredient");
-            if (abilityCostKey != null && shortcutKey != null && fogOfHistoryKey != null && pathwayKey != null && ingredientKey != null) {
-                return container.has(abilityCostKey) || container.has(shortcutKey) || container.has(fogOfHistoryKey) || container.has(pathwayKey) || container.has(ingredientKey);
-            }
-        }
-        return false;
-    }
-
 }
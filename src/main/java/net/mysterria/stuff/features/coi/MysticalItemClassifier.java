@@ -0,0 +1,54 @@
+package net.mysterria.stuff.features.coi;
+
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import net.mysterria.stuff.utils.ItemInspector;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Classifies an item against every CircleOfImagination key in a single read-only PDC pass.
+ * The verdict is a bitmask of the flags below, 0 meaning "not a CoI item".
+ */
+public final class MysticalItemClassifier {
+
+    public static final int ABILITY_COST = 1;
+    public static final int SHORTCUT = 1 << 1;
+    public static final int FOG = 1 << 2;
+    public static final int PATHWAY = 1 << 3;
+    public static final int INGREDIENT = 1 << 4;
+    public static final int WORM = 1 << 5;
+
+    public static final int SPELL = ABILITY_COST | SHORTCUT;
+    public static final int NON_INGREDIENT = SPELL | FOG;
+    public static final int MYSTICAL = NON_INGREDIENT | PATHWAY | INGREDIENT;
+
+    private MysticalItemClassifier() {
+    }
+
+    public static int classify(ItemStack item) {
+        CoIKeyRegistry.Keys keys = CoIKeyRegistry.keys();
+        if (keys == null) {
+            return 0;
+        }
+
+        PersistentDataContainerView container = ItemInspector.view(item);
+        if (container == null) {
+            return 0;
+        }
+
+        int verdict = 0;
+        if (container.has(keys.abilityCost())) verdict |= ABILITY_COST;
+        if (container.has(keys.shortcut())) verdict |= SHORTCUT;
+        if (container.has(keys.fogOfHistory())) verdict |= FOG;
+        if (container.has(keys.pathway())) verdict |= PATHWAY;
+        if (container.has(keys.ingredient())) verdict |= INGREDIENT;
+        if (container.has(keys.wormOfSpirit())) verdict |= WORM;
+        if (verdict != 0) {
+            MysticalMaterials.learn(item.getType());
+        }
+        return verdict;
+    }
+
+    public static boolean has(int verdict, int flags) {
+        return (verdict & flags) != 0;
+    }
+}
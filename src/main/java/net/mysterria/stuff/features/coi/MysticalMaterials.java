@@ -0,0 +1,115 @@
+package net.mysterria.stuff.features.coi;
+
+import net.mysterria.stuff.utils.DebugCategory;
+import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every material CircleOfImagination has ever been seen tagging, learned from classifier hits.
+ * <p>
+ * High-volume paths such as hopper moves check this table first: an item whose material was
+ * never seen as a CoI item leaves with one array read and no item data access. Shulker boxes and
+ * bundles are known from the start, since they can carry CoI items before any were seen inside.
+ * The table is saved to {@code mystical-materials.yml} periodically and on disable so it survives
+ * restarts and crashes.
+ */
+public final class MysticalMaterials {
+
+    private static final String FILE_NAME = "mystical-materials.yml";
+
+    private static final boolean[] known = new boolean[Material.values().length];
+    private static volatile boolean dirty;
+    private static int savedCount;
+
+    private MysticalMaterials() {
+    }
+
+    public static boolean isKnown(Material material) {
+        return known[material.ordinal()];
+    }
+
+    public static void learn(Material material) {
+        int ordinal = material.ordinal();
+        if (!known[ordinal]) {
+            known[ordinal] = true;
+            dirty = true;
+            PrettyLogger.debug(DebugCategory.COI, () -> "Learned CoI item material: " + material);
+        }
+    }
+
+    public static void load(File dataFolder) {
+        for (Material material : Tag.SHULKER_BOXES.getValues()) {
+            known[material.ordinal()] = true;
+        }
+        for (Material material : Tag.ITEMS_BUNDLES.getValues()) {
+            known[material.ordinal()] = true;
+        }
+
+        File file = new File(dataFolder, FILE_NAME);
+        if (!file.exists()) return;
+
+        int count = 0;
+        for (String name : YamlConfiguration.loadConfiguration(file).getStringList("materials")) {
+            Material material = Material.matchMaterial(name);
+            if (material != null) {
+                known[material.ordinal()] = true;
+                count++;
+            }
+        }
+        dirty = false;
+        PrettyLogger.debug(DebugCategory.COI, "Loaded " + count + " known CoI item materials");
+    }
+
+    public static void save(File dataFolder) {
+        if (!dirty) return;
+
+        dirty = false;
+        write(dataFolder, knownNames());
+    }
+
+    /**
+     * Collects the table on the calling (main) thread and writes it on an async one.
+     */
+    public static void saveAsync(Plugin plugin) {
+        if (!dirty) return;
+
+        dirty = false;
+        List<String> names = knownNames();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> write(plugin.getDataFolder(), names));
+    }
+
+    private static List<String> knownNames() {
+        List<String> names = new ArrayList<>();
+        Material[] materials = Material.values();
+        for (int i = 0; i < known.length; i++) {
+            if (known[i]) {
+                names.add(materials[i].name());
+            }
+        }
+        return names;
+    }
+
+    private static synchronized void write(File dataFolder, List<String> names) {
+        // The table only grows, so a smaller list is an older snapshot whose async write lost the race
+        if (names.size() < savedCount) return;
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("materials", names);
+        try {
+            yaml.save(new File(dataFolder, FILE_NAME));
+            savedCount = names.size();
+        } catch (IOException e) {
+            dirty = true;
+            PrettyLogger.warn("Failed to save " + FILE_NAME + ": " + e.getMessage());
+        }
+    }
+}
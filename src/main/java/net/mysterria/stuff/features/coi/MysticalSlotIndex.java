@@ -0,0 +1,138 @@
+package net.mysterria.stuff.features.coi;
+
+import io.papermc.paper.event.player.PlayerInventorySlotChangeEvent;
+import net.mysterria.stuff.perf.Critical;
+import net.mysterria.stuff.utils.DebugCategory;
+import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-player index of which inventory slots hold CoI items.
+ * <p>
+ * Built with a full scan on join and kept current from {@link PlayerInventorySlotChangeEvent},
+ * so handlers can answer "is this slot mystical?" without touching item data. Verdicts include
+ * anything stored inside shulker boxes and bundles. Every slot also
+ * remembers the material it was classified with; a lookup whose material no longer matches
+ * (a change the server has not synced yet) is reclassified on the spot.
+ */
+public class MysticalSlotIndex implements Listener {
+
+    private final ContainerContentScanner scanner;
+    private final Map<UUID, SlotVerdicts> players = new HashMap<>();
+
+    public MysticalSlotIndex(ContainerContentScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    public void scanOnlinePlayers() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            scan(player);
+        }
+    }
+
+    public void scan(Player player) {
+        PlayerInventory inventory = player.getInventory();
+        SlotVerdicts slots = new SlotVerdicts(inventory.getSize());
+        scanner.resetBudget();
+        for (int slot = 0; slot < slots.size(); slot++) {
+            update(slots, slot, inventory.getItem(slot));
+        }
+        players.put(player.getUniqueId(), slots);
+    }
+
+    public int verdictAt(Player player, int slot, ItemStack item) {
+        SlotVerdicts slots = players.get(player.getUniqueId());
+        if (slots == null || slot < 0 || slot >= slots.size()) {
+            return MysticalItemClassifier.classify(item);
+        }
+
+        Material type = item == null ? Material.AIR : item.getType();
+        if (slots.types[slot] != type) {
+            update(slots, slot, item);
+        }
+        return slots.verdicts[slot];
+    }
+
+    public boolean hasMysticalItems(Player player) {
+        SlotVerdicts slots = players.get(player.getUniqueId());
+        return slots == null || slots.mysticalSlots != 0L;
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        scan(event.getPlayer());
+    }
+
+    @Critical
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        players.remove(event.getPlayer().getUniqueId());
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSlotChange(PlayerInventorySlotChangeEvent event) {
+        SlotVerdicts slots = players.get(event.getPlayer().getUniqueId());
+        int slot = event.getSlot();
+        if (slots == null || slot < 0 || slot >= slots.size()) {
+            return;
+        }
+        scanner.resetBudget();
+        update(slots, slot, event.getNewItemStack());
+    }
+
+    private void update(SlotVerdicts slots, int slot, ItemStack item) {
+        slots.set(slot, item == null ? Material.AIR : item.getType(), scanner.classifyDeep(item));
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onCoIEnable(PluginEnableEvent event) {
+        if (event.getPlugin().getName().equals(CoIKeyRegistry.COI_PLUGIN_NAME)) {
+            scanOnlinePlayers();
+            PrettyLogger.debug(DebugCategory.COI, "Rebuilt mystical slot index after CircleOfImagination was enabled");
+        }
+    }
+
+    private static final class SlotVerdicts {
+
+        private final int[] verdicts;
+        private final Material[] types;
+        private long mysticalSlots;
+
+        private SlotVerdicts(int size) {
+            int capped = Math.min(size, Long.SIZE);
+            this.verdicts = new int[capped];
+            this.types = new Material[capped];
+        }
+
+        private int size() {
+            return verdicts.length;
+        }
+
+        private void set(int slot, Material type, int verdict) {
+            verdicts[slot] = verdict;
+            types[slot] = type;
+            if (verdict != 0) {
+                mysticalSlots |= 1L << slot;
+            } else {
+                mysticalSlots &= ~(1L << slot);
+            }
+        }
+    }
+}
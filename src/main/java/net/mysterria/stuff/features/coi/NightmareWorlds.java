@@ -0,0 +1,234 @@
+package net.mysterria.stuff.features.coi;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.perf.Critical;
+import net.mysterria.stuff.utils.DebugCategory;
+import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.SpawnChangeEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tracks which loaded worlds are nightmare instances, classified once when the world loads
+ * instead of by name on every event.
+ * <p>
+ * With {@code block-nightmare-pickups} on, items entering a nightmare world get an infinite
+ * pickup delay and mobs lose the ability to pick items up, so the server never attempts the
+ * pickup and no {@code EntityPickupItemEvent} has to be cancelled. Both values are saved with the
+ * entity, so the original ones are kept in its persistent data and put back when it leaves the
+ * world, when the CoI feature stops, or when it is loaded again with the option off.
+ * <p>
+ * While any nightmare world is loaded, the main world's spawn chunk is held with a plugin chunk
+ * ticket so players respawning there after a nightmare death never wait on a chunk load.
+ */
+public class NightmareWorlds implements Listener {
+
+    public static final String WORLD_PREFIX = "world_nightmare_";
+    public static final String MAIN_WORLD = "world";
+
+    private static final int NO_PICKUP_DELAY = Short.MAX_VALUE;
+    private static final NamespacedKey PICKUP_DELAY_KEY = new NamespacedKey("mysterriastuff", "nightmare_pickup_delay");
+    private static final NamespacedKey CAN_PICKUP_KEY = new NamespacedKey("mysterriastuff", "nightmare_can_pickup");
+
+    private static final Set<UUID> nightmareWorlds = new HashSet<>();
+
+    // Players who died in a nightmare world and have not respawned yet. Kept here rather than in
+    // a listener so it survives the CoI protection module being restarted on reload.
+    private static final Set<UUID> pendingRespawns = new HashSet<>();
+
+    private static ChunkTicket spawnTicket;
+
+    public static boolean isNightmare(World world) {
+        return nightmareWorlds.contains(world.getUID());
+    }
+
+    public static void markPendingRespawn(UUID player) {
+        pendingRespawns.add(player);
+    }
+
+    public static boolean takePendingRespawn(UUID player) {
+        return pendingRespawns.remove(player);
+    }
+
+    public static Location getRespawnLocation() {
+        World world = Bukkit.getWorld(MAIN_WORLD);
+        return world == null ? null : world.getSpawnLocation();
+    }
+
+    public static void scanLoadedWorlds() {
+        nightmareWorlds.clear();
+        for (World world : Bukkit.getWorlds()) {
+            classify(world);
+        }
+        updateSpawnTicket();
+        PrettyLogger.debug(DebugCategory.COI, "Found " + nightmareWorlds.size() + " loaded nightmare worlds");
+    }
+
+    /**
+     * Forgets every nightmare world and releases the main world spawn chunk. Pending respawns are
+     * kept, so a restart of the feature does not lose players on the death screen.
+     */
+    public static void reset() {
+        nightmareWorlds.clear();
+        updateSpawnTicket();
+    }
+
+    /**
+     * Blocks pickups for everything already in a loaded nightmare world.
+     */
+    public static void blockLoadedPickups() {
+        for (UUID id : nightmareWorlds) {
+            World world = Bukkit.getWorld(id);
+            if (world != null) {
+                world.getEntities().forEach(NightmareWorlds::blockPickups);
+            }
+        }
+    }
+
+    /**
+     * Gives everything in a loaded nightmare world its original pickup settings back.
+     */
+    public static void restoreLoadedPickups() {
+        for (UUID id : nightmareWorlds) {
+            World world = Bukkit.getWorld(id);
+            if (world != null) {
+                world.getEntities().forEach(NightmareWorlds::restorePickups);
+            }
+        }
+    }
+
+    private static void blockPickups(Entity entity) {
+        PersistentDataContainer data = entity.getPersistentDataContainer();
+        if (entity instanceof Item item) {
+            if (!data.has(PICKUP_DELAY_KEY)) {
+                data.set(PICKUP_DELAY_KEY, PersistentDataType.INTEGER, item.getPickupDelay());
+            }
+            item.setPickupDelay(NO_PICKUP_DELAY);
+        } else if (entity instanceof LivingEntity living && !(entity instanceof Player)) {
+            if (living.getCanPickupItems() && !data.has(CAN_PICKUP_KEY)) {
+                data.set(CAN_PICKUP_KEY, PersistentDataType.BYTE, (byte) 1);
+                living.setCanPickupItems(false);
+            }
+        }
+    }
+
+    private static void restorePickups(Entity entity) {
+        PersistentDataContainer data = entity.getPersistentDataContainer();
+        if (entity instanceof Item item) {
+            Integer delay = data.get(PICKUP_DELAY_KEY, PersistentDataType.INTEGER);
+            if (delay != null) {
+                item.setPickupDelay(delay);
+                data.remove(PICKUP_DELAY_KEY);
+            }
+        } else if (entity instanceof LivingEntity living && data.has(CAN_PICKUP_KEY)) {
+            living.setCanPickupItems(true);
+            data.remove(CAN_PICKUP_KEY);
+        }
+    }
+
+    private static void classify(World world) {
+        if (world.getName().startsWith(WORLD_PREFIX)) {
+            nightmareWorlds.add(world.getUID());
+        }
+    }
+
+    private static void updateSpawnTicket() {
+        Plugin plugin = MysterriaStuff.getInstance();
+        if (nightmareWorlds.isEmpty()) {
+            if (spawnTicket != null) {
+                spawnTicket.release(plugin);
+                spawnTicket = null;
+                PrettyLogger.debug(DebugCategory.COI, "No nightmare worlds loaded, released main world spawn chunk");
+            }
+            return;
+        }
+
+        World world = Bukkit.getWorld(MAIN_WORLD);
+        if (world == null) return;
+
+        Location spawn = world.getSpawnLocation();
+        int chunkX = spawn.getBlockX() >> 4;
+        int chunkZ = spawn.getBlockZ() >> 4;
+        ChunkTicket ticket = new ChunkTicket(world.getUID(), chunkX, chunkZ);
+        if (ticket.equals(spawnTicket)) return;
+        if (spawnTicket != null) {
+            spawnTicket.release(plugin);
+        }
+
+        world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+        spawnTicket = ticket;
+        PrettyLogger.debug(DebugCategory.COI, "Holding main world spawn chunk " + chunkX + ", " + chunkZ + " for nightmare respawns");
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onWorldLoad(WorldLoadEvent event) {
+        classify(event.getWorld());
+        updateSpawnTicket();
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        if (!event.isCancelled()) {
+            nightmareWorlds.remove(event.getWorld().getUID());
+            updateSpawnTicket();
+        }
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSpawnChange(SpawnChangeEvent event) {
+        if (event.getWorld().getName().equals(MAIN_WORLD)) {
+            updateSpawnTicket();
+        }
+    }
+
+    @EventHandler
+    public void onEntityAddToWorld(EntityAddToWorldEvent event) {
+        if (isNightmare(event.getWorld()) && MysterriaStuff.getInstance().getConfigManager().isBlockNightmarePickups()) {
+            blockPickups(event.getEntity());
+        } else {
+            // Saved while blocked, e.g. on a crash or chunk unload, and loaded where it no longer applies
+            restorePickups(event.getEntity());
+        }
+    }
+
+    @Critical
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        if (isNightmare(event.getWorld())) {
+            restorePickups(event.getEntity());
+        }
+    }
+
+    private record ChunkTicket(UUID world, int x, int z) {
+
+        void release(Plugin plugin) {
+            World loaded = Bukkit.getWorld(world);
+            if (loaded != null) {
+                loaded.removePluginChunkTicket(x, z, plugin);
+            }
+        }
+    }
+}
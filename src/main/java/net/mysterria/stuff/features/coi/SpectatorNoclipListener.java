@@ -0,0 +1,58 @@
+package net.mysterria.stuff.features.coi;
+
+import net.mysterria.stuff.MysterriaStuff;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+/**
+ * Stops non-op spectators from flying into solid blocks.
+ * <p>
+ * PlayerMoveEvent is the hottest event on the server, so the checks are ordered cheapest first:
+ * moves inside the same block, then non-spectators, are rejected before anything else is read.
+ * Solidity is a lookup into a table built once from {@link Material#isSolid()}.
+ */
+public class SpectatorNoclipListener implements Listener {
+
+    private static final boolean[] SOLID = buildSolidTable();
+
+    @EventHandler(ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        if (!event.hasChangedBlock()) return;
+
+        Player player = event.getPlayer();
+        if (player.getGameMode() != GameMode.SPECTATOR) return;
+        if (player.isOp()) return;
+        if (!MysterriaStuff.getInstance().getConfigManager().isRestrictSpectatorNoclip()) return;
+
+        Location to = event.getTo();
+        World world = to.getWorld();
+        int x = to.getBlockX();
+        int y = to.getBlockY();
+        int z = to.getBlockZ();
+        if (isSolid(world, x, y, z) || isSolid(world, x, y + 1, z)) {
+            event.setCancelled(true);
+        }
+    }
+
+    private static boolean isSolid(World world, int x, int y, int z) {
+        if (y < world.getMinHeight() || y >= world.getMaxHeight()) {
+            return false;
+        }
+        return SOLID[world.getType(x, y, z).ordinal()];
+    }
+
+    private static boolean[] buildSolidTable() {
+        Material[] materials = Material.values();
+        boolean[] solid = new boolean[materials.length];
+        for (Material material : materials) {
+            solid[material.ordinal()] = !material.isLegacy() && material.isBlock() && material.isSolid();
+        }
+        return solid;
+    }
+}
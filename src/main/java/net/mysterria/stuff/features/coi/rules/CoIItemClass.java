@@ -0,0 +1,57 @@
+package net.mysterria.stuff.features.coi.rules;
+
+import net.mysterria.stuff.features.coi.MysticalItemClassifier;
+
+/**
+ * Item classes a rule can target. The ordinal of each constant is the bit position
+ * of the matching {@link MysticalItemClassifier} flag, so a verdict indexes rules directly.
+ */
+public enum CoIItemClass {
+    ABILITY_COST("ability-cost", MysticalItemClassifier.ABILITY_COST),
+    SHORTCUT("shortcut", MysticalItemClassifier.SHORTCUT),
+    FOG_OF_HISTORY("fog-of-history", MysticalItemClassifier.FOG),
+    PATHWAY("pathway", MysticalItemClassifier.PATHWAY),
+    INGREDIENT("ingredient", MysticalItemClassifier.INGREDIENT),
+    WORM_OF_SPIRIT("worm-of-spirit", MysticalItemClassifier.WORM);
+
+    public static final int COUNT = values().length;
+    public static final int ALL_FLAGS = (1 << COUNT) - 1;
+
+    private final String configName;
+
+    CoIItemClass(String configName, int flag) {
+        if (flag != 1 << ordinal()) {
+            throw new IllegalStateException("Classifier flag of " + configName + " does not match its ordinal");
+        }
+        this.configName = configName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    public int getFlag() {
+        return 1 << ordinal();
+    }
+
+    public static String describe(int flags) {
+        StringBuilder names = new StringBuilder();
+        for (CoIItemClass itemClass : values()) {
+            if ((flags & itemClass.getFlag()) == 0) continue;
+            if (!names.isEmpty()) {
+                names.append(',');
+            }
+            names.append(itemClass.configName);
+        }
+        return names.toString();
+    }
+
+    public static CoIItemClass fromConfigName(String name) {
+        for (CoIItemClass itemClass : values()) {
+            if (itemClass.configName.equalsIgnoreCase(name)) {
+                return itemClass;
+            }
+        }
+        return null;
+    }
+}
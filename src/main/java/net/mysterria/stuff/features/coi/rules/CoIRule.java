@@ -0,0 +1,40 @@
+package net.mysterria.stuff.features.coi.rules;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A single compiled rule from {@code coi-protection.rules}, with its own hit counter.
+ */
+public class CoIRule {
+
+    private final String id;
+    private final RuleEvent event;
+    private final RuleVerdict verdict;
+    private final LongAdder hits = new LongAdder();
+
+    public CoIRule(String id, RuleEvent event, RuleVerdict verdict) {
+        this.id = id;
+        this.event = event;
+        this.verdict = verdict;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public RuleEvent getEvent() {
+        return event;
+    }
+
+    public RuleVerdict getVerdict() {
+        return verdict;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+}
@@ -0,0 +1,250 @@
+package net.mysterria.stuff.features.coi.rules;
+
+import net.mysterria.stuff.utils.DebugCategory;
+import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compiles {@code coi-protection.rules} into flat lookup tables.
+ * <p>
+ * Every (event, item class) pair that has at least one rule owns a {@code short[]} indexed by
+ * (inventory type, slot type, action); each cell holds the 1-based index of the first rule in
+ * config order that matches it, or 0. Index 0 of every dimension means "not applicable", which is
+ * what non-inventory events pass. Evaluating an item is one array read per item class it carries.
+ * When an item carries several classes, a DENY from any of them wins.
+ */
+public class CoIRuleEngine {
+
+    public static final String RULES_PATH = "coi-protection.rules";
+
+    private static final InventoryType[] INVENTORY_TYPES = InventoryType.values();
+    private static final InventoryType.SlotType[] SLOT_TYPES = InventoryType.SlotType.values();
+    private static final InventoryAction[] ACTIONS = InventoryAction.values();
+
+    private static final int INVENTORY_DIM = INVENTORY_TYPES.length + 1;
+    private static final int SLOT_DIM = SLOT_TYPES.length + 1;
+    private static final int ACTION_DIM = ACTIONS.length + 1;
+    private static final int CELLS = INVENTORY_DIM * SLOT_DIM * ACTION_DIM;
+
+    private volatile CompiledRules compiled = CompiledRules.EMPTY;
+
+    public void compile(Configuration config) {
+        if (!config.isSet(RULES_PATH) && config.getDefaults() != null) {
+            PrettyLogger.warn("No " + RULES_PATH + " section in config.yml, using built-in defaults");
+        }
+
+        List<String> problems = new ArrayList<>();
+        compiled = compile(rulesSection(config), problems);
+        problems.forEach(problem -> PrettyLogger.warn("Ignoring invalid CoI rule setting: " + problem));
+        PrettyLogger.debug(DebugCategory.COI, "Compiled " + compiled.rules.length + " CoI protection rules into " + compiled.tableCount() + " lookup tables");
+    }
+
+    /**
+     * Compiles the rules of a configuration without installing them and returns every rule or
+     * entry that {@link #compile(Configuration)} would have to skip, empty if there are none.
+     */
+    public static List<String> check(Configuration config) {
+        List<String> problems = new ArrayList<>();
+        compile(rulesSection(config), problems);
+        return problems;
+    }
+
+    public boolean isDenied(RuleEvent event, int verdict) {
+        return isDenied(event, verdict, null, null, null);
+    }
+
+    public boolean isDenied(RuleEvent event, int verdict, InventoryType inventory, InventoryType.SlotType slot, InventoryAction action) {
+        int remaining = verdict & CoIItemClass.ALL_FLAGS;
+        if (remaining == 0) {
+            return false;
+        }
+
+        CompiledRules rules = compiled;
+        int cell = cellIndex(
+                inventory == null ? 0 : inventory.ordinal() + 1,
+                slot == null ? 0 : slot.ordinal() + 1,
+                action == null ? 0 : action.ordinal() + 1
+        );
+        int base = event.ordinal() * CoIItemClass.COUNT;
+
+        boolean denied = false;
+        while (remaining != 0) {
+            int classIndex = Integer.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+
+            short[] table = rules.tables[base + classIndex];
+            if (table == null) continue;
+
+            int ruleIndex = table[cell];
+            if (ruleIndex == 0) continue;
+
+            CoIRule rule = rules.rules[ruleIndex - 1];
+            rule.recordHit();
+            if (rule.getVerdict() == RuleVerdict.DENY) {
+                denied = true;
+            }
+        }
+        return denied;
+    }
+
+    public List<CoIRule> getRules() {
+        return List.of(compiled.rules);
+    }
+
+    private static ConfigurationSection rulesSection(Configuration config) {
+        ConfigurationSection section = config.isSet(RULES_PATH) ? config.getConfigurationSection(RULES_PATH) : null;
+        if (section == null && config.getDefaults() != null) {
+            section = config.getDefaults().getConfigurationSection(RULES_PATH);
+        }
+        return section;
+    }
+
+    private static CompiledRules compile(ConfigurationSection section, List<String> problems) {
+        if (section == null) {
+            return CompiledRules.EMPTY;
+        }
+
+        List<CoIRule> rules = new ArrayList<>();
+        short[][] tables = new short[RuleEvent.values().length * CoIItemClass.COUNT][];
+
+        for (String id : section.getKeys(false)) {
+            ConfigurationSection ruleSection = section.getConfigurationSection(id);
+            if (ruleSection == null) {
+                problems.add("CoI rule '" + id + "' is not a section");
+                continue;
+            }
+
+            RuleEvent event = RuleEvent.fromConfigName(ruleSection.getString("event", ""));
+            if (event == null) {
+                problems.add("CoI rule '" + id + "' has unknown event '" + ruleSection.getString("event") + "'");
+                continue;
+            }
+
+            RuleVerdict verdict = parseEnum(RuleVerdict.class, ruleSection.getString("verdict", "DENY"));
+            if (verdict == null) {
+                problems.add("CoI rule '" + id + "' has unknown verdict '" + ruleSection.getString("verdict") + "'");
+                continue;
+            }
+
+            int classFlags = 0;
+            for (String name : ruleSection.getStringList("items")) {
+                CoIItemClass itemClass = CoIItemClass.fromConfigName(name);
+                if (itemClass == null) {
+                    problems.add("CoI rule '" + id + "' has unknown item class '" + name + "'");
+                    continue;
+                }
+                classFlags |= itemClass.getFlag();
+            }
+            if (classFlags == 0) {
+                problems.add("CoI rule '" + id + "' matches no item classes");
+                continue;
+            }
+
+            boolean[] inventories = parseDimension(id, ruleSection, "inventories", INVENTORY_TYPES, problems);
+            boolean[] slots = parseDimension(id, ruleSection, "slots", SLOT_TYPES, problems);
+            boolean[] actions = parseDimension(id, ruleSection, "actions", ACTIONS, problems);
+
+            if (rules.size() >= Short.MAX_VALUE) {
+                problems.add("Too many CoI rules, '" + id + "' and everything after it do not fit");
+                break;
+            }
+            rules.add(new CoIRule(id, event, verdict));
+            short ruleIndex = (short) rules.size();
+
+            for (CoIItemClass itemClass : CoIItemClass.values()) {
+                if ((classFlags & itemClass.getFlag()) == 0) continue;
+
+                int tableIndex = event.ordinal() * CoIItemClass.COUNT + itemClass.ordinal();
+                short[] table = tables[tableIndex];
+                if (table == null) {
+                    table = new short[CELLS];
+                    tables[tableIndex] = table;
+                }
+                fill(table, ruleIndex, inventories, slots, actions);
+            }
+        }
+
+        return new CompiledRules(rules.toArray(new CoIRule[0]), tables);
+    }
+
+    private static void fill(short[] table, short ruleIndex, boolean[] inventories, boolean[] slots, boolean[] actions) {
+        for (int inventory = 0; inventory < INVENTORY_DIM; inventory++) {
+            if (!inventories[inventory]) continue;
+            for (int slot = 0; slot < SLOT_DIM; slot++) {
+                if (!slots[slot]) continue;
+                for (int action = 0; action < ACTION_DIM; action++) {
+                    if (!actions[action]) continue;
+                    int cell = cellIndex(inventory, slot, action);
+                    if (table[cell] == 0) {
+                        table[cell] = ruleIndex;
+                    }
+                }
+            }
+        }
+    }
+
+    private static <E extends Enum<E>> boolean[] parseDimension(String id, ConfigurationSection section, String key, E[] values,
+                                                                List<String> problems) {
+        boolean[] matches = new boolean[values.length + 1];
+        String exceptKey = "except-" + key;
+
+        if (section.isList(key)) {
+            for (String name : section.getStringList(key)) {
+                E value = parseEnum(values[0].getDeclaringClass(), name);
+                if (value == null) {
+                    problems.add("CoI rule '" + id + "' has unknown " + key + " entry '" + name + "'");
+                    continue;
+                }
+                matches[value.ordinal() + 1] = true;
+            }
+            return matches;
+        }
+
+        Arrays.fill(matches, true);
+        for (String name : section.getStringList(exceptKey)) {
+            E value = parseEnum(values[0].getDeclaringClass(), name);
+            if (value == null) {
+                problems.add("CoI rule '" + id + "' has unknown " + exceptKey + " entry '" + name + "'");
+                continue;
+            }
+            matches[value.ordinal() + 1] = false;
+        }
+        return matches;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static int cellIndex(int inventory, int slot, int action) {
+        return (inventory * SLOT_DIM + slot) * ACTION_DIM + action;
+    }
+
+    private record CompiledRules(CoIRule[] rules, short[][] tables) {
+
+        static final CompiledRules EMPTY = new CompiledRules(new CoIRule[0], new short[RuleEvent.values().length * CoIItemClass.COUNT][]);
+
+        int tableCount() {
+            int count = 0;
+            for (short[] table : tables) {
+                if (table != null) count++;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package net.mysterria.stuff.features.coi.rules;
+
+/**
+ * Event types a CoI rule can be bound to.
+ */
+public enum RuleEvent {
+    CLICK("click"),
+    POUCH("pouch"),
+    CRAFT("craft"),
+    CRAFTER("crafter"),
+    CRAFTER_RESULT("crafter-result"),
+    ITEM_FRAME("item-frame"),
+    DEATH_DROP("death-drop"),
+    PLACE_HEAD("place-head"),
+    USE_ON_BLOCK("use-on-block"),
+    THROW_PEARL("throw-pearl"),
+    HOPPER("hopper");
+
+    private final String configName;
+
+    RuleEvent(String configName) {
+        this.configName = configName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    public static RuleEvent fromConfigName(String name) {
+        for (RuleEvent event : values()) {
+            if (event.configName.equalsIgnoreCase(name)) {
+                return event;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,6 @@
+package net.mysterria.stuff.features.coi.rules;
+
+public enum RuleVerdict {
+    ALLOW,
+    DENY
+}
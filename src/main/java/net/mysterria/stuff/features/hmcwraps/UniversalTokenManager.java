@@ -6,6 +6,8 @@ import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.mysterria.stuff.MysterriaStuff;
 import net.mysterria.stuff.config.ConfigManager;
 import net.mysterria.stuff.utils.AdventureUtil;
+import net.mysterria.stuff.utils.ItemInspector;
+import net.mysterria.stuff.utils.MessageTemplate;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
@@ -23,6 +25,7 @@ public class UniversalTokenManager {
     private final ConfigManager configManager;
     private final NamespacedKey tokenKey;
     private final LegacyComponentSerializer serializer;
+    private final MessageTemplate.Cache templates;
     private WrapCategoryMapper categoryMapper;
 
     private UniversalTokenManager(MysterriaStuff plugin) {
@@ -30,6 +33,7 @@ public class UniversalTokenManager {
         this.configManager = plugin.getConfigManager();
         this.tokenKey = AdventureUtil.getNamespacedKey("universal_token");
         this.serializer = LegacyComponentSerializer.builder().character('&').build();
+        this.templates = new MessageTemplate.Cache(configManager::getTokenMessages, serializer);
         this.categoryMapper = new WrapCategoryMapper(plugin);
     }
 
@@ -46,6 +50,11 @@ public class UniversalTokenManager {
     }
 
 
+    public static void shutdown() {
+        instance = null;
+    }
+
+
     public ItemStack createToken(int amount) {
         ItemStack token = new ItemStack(Material.PAPER, amount);
         ItemMeta meta = token.getItemMeta();
@@ -76,12 +85,7 @@ public class UniversalTokenManager {
             return false;
         }
 
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return false;
-        }
-
-        return meta.getPersistentDataContainer().has(tokenKey, PersistentDataType.BYTE);
+        return ItemInspector.hasKey(item, tokenKey, PersistentDataType.BYTE);
     }
 
 
@@ -100,19 +104,12 @@ public class UniversalTokenManager {
 
 
     public Component getMessage(String key) {
-        String message = configManager.getTokenMessage(key);
-        return serializer.deserialize(message).decoration(TextDecoration.ITALIC, false);
+        return templates.get(key).render();
     }
 
 
     public Component getMessage(String key, String... placeholders) {
-        String message = configManager.getTokenMessage(key);
-
-        for (int i = 0; i < placeholders.length - 1; i += 2) {
-            message = message.replace("{" + placeholders[i] + "}", placeholders[i + 1]);
-        }
-
-        return serializer.deserialize(message).decoration(TextDecoration.ITALIC, false);
+        return templates.get(key).render(serializer, placeholders);
     }
 
 
@@ -0,0 +1,72 @@
+package net.mysterria.stuff.features.hmcwraps;
+
+import de.skyslycer.hmcwraps.HMCWraps;
+import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.features.FeatureModule;
+import net.mysterria.stuff.features.hmcwraps.listener.UniversalTokenListener;
+import net.mysterria.stuff.features.hmcwraps.listener.WrapPreviewListener;
+import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.List;
+
+public class UniversalTokenModule extends FeatureModule {
+
+    public UniversalTokenModule(MysterriaStuff plugin) {
+        super(plugin, Feature.UNIVERSAL_TOKEN, "Universal Token (HMCWraps Integration)");
+    }
+
+    @Override
+    public List<String> getConfigSections() {
+        return List.of("universal-token");
+    }
+
+    @Override
+    protected boolean onEnable() {
+        HMCWraps hmcWraps = loadHmcWraps();
+        if (hmcWraps == null) {
+            PrettyLogger.warn("Universal Token enabled but HMCWraps plugin not found!");
+            return false;
+        }
+
+        PrettyLogger.info("Initializing Universal Token system...");
+        UniversalTokenManager.initialize(plugin);
+
+        WrapPreviewListener previewHandler = new WrapPreviewListener(hmcWraps);
+        listen(previewHandler);
+        listen(new UniversalTokenListener(plugin, hmcWraps, previewHandler));
+        return true;
+    }
+
+    @Override
+    protected void onDisable() {
+        UniversalTokenManager.shutdown();
+    }
+
+    private HMCWraps loadHmcWraps() {
+        String name = "HMCWraps";
+        try {
+            boolean enabled = Bukkit.getPluginManager().isPluginEnabled(name);
+            PrettyLogger.debug(name + " enabled: " + enabled);
+            Plugin plugin = Bukkit.getPluginManager().getPlugin(name);
+            if (plugin == null) {
+                PrettyLogger.warn(name + " plugin not found (getPlugin returned null).");
+                return null;
+            }
+            PrettyLogger.debug(name + " plugin instance class: " + plugin.getClass().getName());
+            if (!(plugin instanceof HMCWraps)) {
+                PrettyLogger.warn(name + " found but is not an instance of HMCWraps. Actual: " + plugin.getClass().getName());
+                return null;
+            }
+            return (HMCWraps) plugin;
+        } catch (ClassCastException e) {
+            PrettyLogger.warn("Failed to cast " + name + " plugin to HMCWraps: " + e);
+            return null;
+        } catch (Throwable t) {
+            PrettyLogger.warn("Unexpected error while loading " + name + ": " + t);
+            return null;
+        }
+    }
+}
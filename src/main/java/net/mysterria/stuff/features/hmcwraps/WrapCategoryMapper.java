@@ -1,6 +1,7 @@
 package net.mysterria.stuff.features.hmcwraps;
 
 import de.skyslycer.hmcwraps.serialization.wrap.Wrap;
+import org.bukkit.Bukkit;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.Plugin;
@@ -13,42 +14,44 @@ import java.util.logging.Level;
 public class WrapCategoryMapper {
 
     private final Plugin plugin;
-    private final Map<String, String> wrapToCategory = new HashMap<>();
+    private volatile Map<String, String> wrapToCategory;
 
     public WrapCategoryMapper(Plugin plugin) {
         this.plugin = plugin;
-        loadCategoryMappings();
+        this.wrapToCategory = loadCategoryMappings();
     }
 
-    private void loadCategoryMappings() {
+    private Map<String, String> loadCategoryMappings() {
         File hmcWrapsFolder = new File(plugin.getDataFolder().getParentFile(), "HMCWraps");
         File wrapsFolder = new File(hmcWrapsFolder, "wraps");
 
         if (!wrapsFolder.exists() || !wrapsFolder.isDirectory()) {
             plugin.getLogger().warning("HMCWraps wraps folder not found at: " + wrapsFolder.getAbsolutePath());
-            return;
+            return Map.of();
         }
 
         File[] yamlFiles = wrapsFolder.listFiles((dir, name) -> name.toLowerCase().endsWith(".yml"));
 
         if (yamlFiles == null || yamlFiles.length == 0) {
             plugin.getLogger().warning("No YAML files found in HMCWraps wraps folder");
-            return;
+            return Map.of();
         }
 
+        Map<String, String> mappings = new HashMap<>();
         for (File yamlFile : yamlFiles) {
             try {
-                parseWrapFile(yamlFile);
+                parseWrapFile(yamlFile, mappings);
             } catch (Exception e) {
                 plugin.getLogger().log(Level.WARNING, "Failed to parse wrap file: " + yamlFile.getName(), e);
             }
         }
 
-        plugin.getLogger().info("Loaded " + wrapToCategory.size() + " wrap category mappings from HMCWraps configs");
+        plugin.getLogger().info("Loaded " + mappings.size() + " wrap category mappings from HMCWraps configs");
+        return Map.copyOf(mappings);
     }
 
 
-    private void parseWrapFile(File yamlFile) {
+    private void parseWrapFile(File yamlFile, Map<String, String> mappings) {
         YamlConfiguration config = YamlConfiguration.loadConfiguration(yamlFile);
 
 
@@ -75,7 +78,7 @@ public class WrapCategoryMapper {
 
 
             for (String wrapId : wrapsSection.getKeys(false)) {
-                wrapToCategory.put(wrapId, normalizeCategory(category));
+                mappings.put(wrapId, normalizeCategory(category));
             }
         }
     }
@@ -137,7 +140,15 @@ public class WrapCategoryMapper {
 
 
     public void reload() {
-        wrapToCategory.clear();
-        loadCategoryMappings();
+        wrapToCategory = loadCategoryMappings();
+    }
+
+    /**
+     * Parses the wrap files on the calling background thread and swaps the new mappings in on
+     * the main thread.
+     */
+    public void reloadOffMainThread() {
+        Map<String, String> mappings = loadCategoryMappings();
+        Bukkit.getScheduler().runTask(plugin, () -> wrapToCategory = mappings);
     }
 }
\ No newline at end of file
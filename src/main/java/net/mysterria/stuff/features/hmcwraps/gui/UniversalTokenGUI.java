@@ -12,6 +12,8 @@ import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.mysterria.stuff.features.hmcwraps.UniversalTokenManager;
 import net.mysterria.stuff.features.hmcwraps.WrapCategoryMapper;
 import net.mysterria.stuff.features.hmcwraps.listener.WrapPreviewListener;
+import net.mysterria.stuff.perf.PluginMetrics;
+import net.mysterria.stuff.perf.jfr.WrapGuiBuildEvent;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -37,6 +39,9 @@ public class UniversalTokenGUI {
 
 
     public void openMainGUI(Player player, HMCWraps hmcWraps) {
+        WrapGuiBuildEvent build = new WrapGuiBuildEvent();
+        build.begin();
+        long start = System.nanoTime();
         String title = manager.getConfigManager().getGuiMainTitle();
         Component titleComponent = miniMessage.deserialize(title);
 
@@ -92,10 +97,15 @@ public class UniversalTokenGUI {
         }));
 
         gui.open(player);
+        PluginMetrics.TOKEN_GUI_OPEN.record(System.nanoTime() - start);
+        commitBuild(build, player, "all", allWraps.size());
     }
 
 
     private void openCategoryGUI(Player player, HMCWraps hmcWraps, String category, List<Wrap> wraps) {
+        WrapGuiBuildEvent build = new WrapGuiBuildEvent();
+        build.begin();
+        long start = System.nanoTime();
         String title = manager.getConfigManager().getGuiCategoryTitle()
                 .replace("{category}", category);
         Component titleComponent = miniMessage.deserialize(title);
@@ -157,6 +167,18 @@ public class UniversalTokenGUI {
         }));
 
         gui.open(player);
+        PluginMetrics.TOKEN_GUI_OPEN.record(System.nanoTime() - start);
+        commitBuild(build, player, category, wraps.size());
+    }
+
+
+    private void commitBuild(WrapGuiBuildEvent build, Player player, String category, int wrapCount) {
+        if (build.shouldCommit()) {
+            build.player = player.getName();
+            build.category = category;
+            build.wrapCount = wrapCount;
+            build.commit();
+        }
     }
 
 
@@ -8,8 +8,11 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.mysterria.stuff.audit.AuditLog;
 import net.mysterria.stuff.features.hmcwraps.UniversalTokenManager;
+import net.mysterria.stuff.perf.PluginMetrics;
 import net.mysterria.stuff.utils.AdventureUtil;
+import net.mysterria.stuff.utils.DebugCategory;
 import net.mysterria.stuff.utils.PrettyLogger;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -136,6 +139,9 @@ public class WrapConfirmationGUI {
                     player.getInventory().addItem(tokenRefund);
                 }
                 player.sendMessage(Component.text("Your token has been refunded.", NamedTextColor.GREEN));
+                PluginMetrics.TOKEN_REFUNDS.increment();
+                AuditLog.record("token_refund", "player", player.getName(), "uuid", player.getUniqueId().toString(),
+                        "wrap", wrap.getWrapName(), "reason", "no physical item");
                 return;
             }
             wrapperItem = wrap.getPhysical().toItem(hmcWraps, player);
@@ -155,6 +161,9 @@ public class WrapConfirmationGUI {
                 player.getInventory().addItem(tokenRefund);
             }
             player.sendMessage(Component.text("Your token has been refunded.", NamedTextColor.GREEN));
+            PluginMetrics.TOKEN_REFUNDS.increment();
+            AuditLog.record("token_refund", "player", player.getName(), "uuid", player.getUniqueId().toString(),
+                    "wrap", wrap.getWrapName(), "reason", "item creation failed");
             return;
         }
 
@@ -168,7 +177,10 @@ public class WrapConfirmationGUI {
         String wrapName = wrap.getName();
         player.sendMessage(manager.getMessage("wrap-exchanged", "wrap", AdventureUtil.convertMiniMessageToLegacy(wrapName)));
 
-        PrettyLogger.debug(player.getName() + " exchanged a token for wrap: " + wrapName);
+        PluginMetrics.TOKEN_EXCHANGES.increment();
+        AuditLog.record("token_exchange", "player", player.getName(), "uuid", player.getUniqueId().toString(),
+                "wrap", wrap.getWrapName(), "world", player.getWorld().getName());
+        PrettyLogger.debug(DebugCategory.WRAPS, () -> player.getName() + " exchanged a token for wrap: " + wrapName);
     }
 
 
@@ -198,7 +210,7 @@ public class WrapConfirmationGUI {
             meta.getPersistentDataContainer().set(key, PersistentDataType.STRING, wrapIdentifier);
             item.setItemMeta(meta);
 
-            PrettyLogger.debug("Added wrapper PDC to item - Key: " + wrapIdentifier + " for wrap: " + wrap.getWrapName());
+            PrettyLogger.debug(DebugCategory.WRAPS, "Added wrapper PDC to item - Key: " + wrapIdentifier + " for wrap: " + wrap.getWrapName());
         } catch (Exception e) {
             PrettyLogger.warn("Failed to add wrapper PDC for wrap '" + wrap.getWrapName() + "': " + e.getMessage());
         }
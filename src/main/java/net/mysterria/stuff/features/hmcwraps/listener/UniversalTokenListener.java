@@ -3,6 +3,7 @@ package net.mysterria.stuff.features.hmcwraps.listener;
 import de.skyslycer.hmcwraps.HMCWraps;
 import net.mysterria.stuff.features.hmcwraps.UniversalTokenManager;
 import net.mysterria.stuff.features.hmcwraps.gui.UniversalTokenGUI;
+import net.mysterria.stuff.perf.Critical;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -25,6 +26,7 @@ public class UniversalTokenListener implements Listener {
     }
 
 
+    @Critical
     @EventHandler
     public void onPlayerInteract(PlayerInteractEvent event) {
         if (!event.getAction().isRightClick()) {
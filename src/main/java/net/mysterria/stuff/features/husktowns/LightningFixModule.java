@@ -0,0 +1,18 @@
+package net.mysterria.stuff.features.husktowns;
+
+import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.features.FeatureModule;
+
+public class LightningFixModule extends FeatureModule {
+
+    public LightningFixModule(MysterriaStuff plugin) {
+        super(plugin, Feature.LIGHTNING_FIX, "Lightning Strike Fix (HuskTowns)");
+    }
+
+    @Override
+    protected boolean onEnable() {
+        listen(new LightningStrikeFix());
+        return true;
+    }
+}
@@ -1,11 +1,13 @@
 package net.mysterria.stuff.features.husktowns;
 
+import net.mysterria.stuff.perf.Critical;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.weather.LightningStrikeEvent;
 
 public class LightningStrikeFix implements Listener {
 
+    @Critical
     @EventHandler(priority = org.bukkit.event.EventPriority.HIGHEST)
     public void onLightningStrike(LightningStrikeEvent event) {
         event.setCancelled(false);
@@ -1,6 +1,9 @@
 package net.mysterria.stuff.features.recipes;
 
 import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.audit.AuditLog;
+import net.mysterria.stuff.perf.jfr.RecipeRegistrationEvent;
+import net.mysterria.stuff.utils.DebugCategory;
 import net.mysterria.stuff.utils.PrettyLogger;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -28,13 +31,28 @@ public class RecipeManager {
 
 
     public void initialize() {
-        PrettyLogger.debug("Recipe manager initialized - ready to accept custom recipes");
+        PrettyLogger.debug(DebugCategory.RECIPES, "Recipe manager initialized - ready to accept custom recipes");
 
 
     }
 
 
     public boolean registerRecipe(Recipe recipe, String id) {
+        RecipeRegistrationEvent registration = new RecipeRegistrationEvent();
+        registration.begin();
+        boolean success = addRecipe(recipe, id);
+        AuditLog.record("recipe_register", "id", id, "type", recipe.getClass().getSimpleName(), "success", String.valueOf(success));
+        if (registration.shouldCommit()) {
+            registration.recipeId = id;
+            registration.recipeType = recipe.getClass().getSimpleName();
+            registration.success = success;
+            registration.commit();
+        }
+        return success;
+    }
+
+
+    private boolean addRecipe(Recipe recipe, String id) {
         try {
 
             if (!MysterriaStuff.getInstance().getConfigManager().isRecipesEnabled()) {
@@ -75,7 +93,7 @@ public class RecipeManager {
                 if (MysterriaStuff.getInstance().getConfigManager().isLogRecipeChanges()) {
                     PrettyLogger.info("Registered custom recipe: " + id);
                 }
-                PrettyLogger.debug("Registered recipe: " + id);
+                PrettyLogger.debug(DebugCategory.RECIPES, () -> "Registered recipe: " + id);
                 return true;
             } else {
                 PrettyLogger.warn("Failed to register recipe: " + id);
@@ -96,6 +114,7 @@ public class RecipeManager {
         }
 
         boolean success = Bukkit.removeRecipe(key);
+        AuditLog.record("recipe_remove", "id", id, "key", key.toString(), "success", String.valueOf(success));
         if (success) {
             customRecipes.remove(id);
 
@@ -103,7 +122,7 @@ public class RecipeManager {
             if (MysterriaStuff.getInstance().getConfigManager().isLogRecipeChanges()) {
                 PrettyLogger.info("Removed custom recipe: " + id);
             }
-            PrettyLogger.debug("Removed recipe: " + id);
+            PrettyLogger.debug(DebugCategory.RECIPES, () -> "Removed recipe: " + id);
             return true;
         } else {
             PrettyLogger.warn("Failed to remove recipe: " + id);
@@ -172,7 +191,7 @@ public class RecipeManager {
 
 
     public void removeAllRecipes() {
-        PrettyLogger.debug("Removing all custom recipes...");
+        PrettyLogger.debug(DebugCategory.RECIPES, "Removing all custom recipes...");
         List<String> ids = new ArrayList<>(customRecipes.keySet());
         for (String id : ids) {
             removeRecipe(id);
@@ -182,7 +201,7 @@ public class RecipeManager {
 
 
     public void reloadRecipes() {
-        PrettyLogger.debug("Reloading recipes...");
+        PrettyLogger.debug(DebugCategory.RECIPES, "Reloading recipes...");
         removeAllRecipes();
         initialize();
         PrettyLogger.success("Recipes reloaded successfully!");
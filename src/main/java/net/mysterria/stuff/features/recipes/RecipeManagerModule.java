@@ -0,0 +1,41 @@
+package net.mysterria.stuff.features.recipes;
+
+import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.features.FeatureModule;
+import net.mysterria.stuff.utils.PrettyLogger;
+
+import java.util.List;
+
+public class RecipeManagerModule extends FeatureModule {
+
+    private RecipeManager recipeManager;
+
+    public RecipeManagerModule(MysterriaStuff plugin) {
+        super(plugin, Feature.RECIPE_MANAGER, "Runtime Recipe Manager");
+    }
+
+    @Override
+    public List<String> getConfigSections() {
+        return List.of("recipes");
+    }
+
+    @Override
+    protected boolean onEnable() {
+        PrettyLogger.info("Initializing recipe manager...");
+        recipeManager = new RecipeManager();
+        recipeManager.initialize();
+        return true;
+    }
+
+    @Override
+    protected void onDisable() {
+        if (recipeManager != null) {
+            recipeManager.removeAllRecipes();
+        }
+    }
+
+    public RecipeManager getRecipeManager() {
+        return recipeManager;
+    }
+}
@@ -0,0 +1,17 @@
+package net.mysterria.stuff.perf;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an event handler that the {@link FeatureWatchdog} must never sample or unregister,
+ * typically because it cancels or rewrites the event and skipping it would let the action through,
+ * or because it keeps an index or cache current that other handlers rely on and that
+ * {@code /mystuff perf restore} would not rebuild.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Critical {
+}
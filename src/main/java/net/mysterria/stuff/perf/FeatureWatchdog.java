@@ -0,0 +1,126 @@
+package net.mysterria.stuff.perf;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import net.mysterria.stuff.config.ConfigManager;
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Throttles features whose event handlers keep eating into the tick.
+ * <p>
+ * At the end of every tick each feature's handler time for that tick is compared against the
+ * budget. A feature over budget for {@code consecutive-ticks} ticks in a row gets a warning and,
+ * depending on {@code action}, either has its handlers sampled (only every n-th event runs them)
+ * or unregistered, until {@code /mystuff perf restore}. Handlers marked {@link Critical} are never
+ * touched, and only time spent on the main thread counts against the budget. CoI protection only
+ * ever gets the warning unless {@code include-coi-protection} is set, since skipping its handlers
+ * lets protected actions through.
+ */
+public class FeatureWatchdog implements Listener {
+
+    public enum Action {
+        SAMPLE,
+        UNREGISTER
+    }
+
+    private static final Feature[] FEATURES = Feature.values();
+
+    private final ListenerTimings timings;
+    private final int[] overBudgetTicks = new int[FEATURES.length];
+    private final Map<Feature, Action> throttled = new EnumMap<>(Feature.class);
+
+    private long budgetNanos;
+    private int consecutiveTicks;
+    private Action action;
+    private int sampleEvery;
+    private boolean includeCoiProtection;
+
+    public FeatureWatchdog(ListenerTimings timings, ConfigManager config) {
+        this.timings = timings;
+        loadSettings(config);
+    }
+
+    public void loadSettings(ConfigManager config) {
+        budgetNanos = (long) (config.getWatchdogBudgetMillis() * 1_000_000);
+        consecutiveTicks = Math.max(1, config.getWatchdogConsecutiveTicks());
+        sampleEvery = Math.max(2, config.getWatchdogSampleEvery());
+        includeCoiProtection = config.isWatchdogIncludeCoiProtection();
+        try {
+            action = Action.valueOf(config.getWatchdogAction().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            PrettyLogger.warn("Unknown watchdog action '" + config.getWatchdogAction() + "', using SAMPLE");
+            action = Action.SAMPLE;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        for (Feature feature : FEATURES) {
+            int index = feature.ordinal();
+            long nanos = timings.drainTickNanos(feature);
+            if (nanos <= budgetNanos) {
+                overBudgetTicks[index] = 0;
+                continue;
+            }
+            if (++overBudgetTicks[index] != consecutiveTicks || throttled.containsKey(feature)) continue;
+
+            String message = "Feature " + feature.getConfigName() + " exceeded its tick budget for "
+                    + consecutiveTicks + " ticks in a row (" + String.format("%.2f", nanos / 1_000_000.0) + "ms last tick)";
+            if (feature == Feature.COI_PROTECTION && !includeCoiProtection) {
+                PrettyLogger.warn(message + ", not throttling CoI protection");
+                continue;
+            }
+
+            PrettyLogger.warn(message + ", " + (action == Action.SAMPLE
+                    ? "running its handlers for 1 in " + sampleEvery + " events"
+                    : "unregistering its handlers") + " until /mystuff perf restore");
+            throttle(feature);
+        }
+    }
+
+    public Map<Feature, Action> getThrottled() {
+        return Map.copyOf(throttled);
+    }
+
+    /**
+     * Undoes every throttle and returns how many features were restored.
+     */
+    public int restore() {
+        int restored = throttled.size();
+        for (Map.Entry<Feature, Action> entry : throttled.entrySet()) {
+            if (entry.getValue() == Action.SAMPLE) {
+                timings.setSampleEvery(entry.getKey(), 1);
+            } else {
+                timings.reregister(entry.getKey());
+            }
+            PrettyLogger.info("Restored handlers for feature " + entry.getKey().getConfigName());
+        }
+        throttled.clear();
+        Arrays.fill(overBudgetTicks, 0);
+        return restored;
+    }
+
+    /**
+     * Drops any throttle on a feature that was stopped, so it starts unthrottled next time.
+     */
+    public void forget(Feature feature) {
+        throttled.remove(feature);
+        overBudgetTicks[feature.ordinal()] = 0;
+    }
+
+    private void throttle(Feature feature) {
+        if (action == Action.SAMPLE) {
+            timings.setSampleEvery(feature, sampleEvery);
+        } else {
+            timings.unregister(feature);
+        }
+        throttled.put(feature, action);
+    }
+}
@@ -0,0 +1,103 @@
+package net.mysterria.stuff.perf;
+
+import net.mysterria.stuff.features.Feature;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, total time and a power-of-two nanosecond histogram for one event handler.
+ * Recording is a handful of striped adds, so it is cheap enough to leave on permanently.
+ */
+public class HandlerTimer {
+
+    static final int BUCKETS = 40;
+
+    private final String name;
+    private final Feature feature;
+    private final boolean critical;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    private volatile int sampleEvery = 1;
+    private int sampled;
+
+    public HandlerTimer(String name, Feature feature) {
+        this(name, feature, false);
+    }
+
+    public HandlerTimer(String name, Feature feature, boolean critical) {
+        this.name = name;
+        this.feature = feature;
+        this.critical = critical;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        buckets[bucketOf(nanos)].increment();
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Whether this call should run: always, unless the watchdog has the handler sampled, in which
+     * case only every {@code sampleEvery}-th call does. The counter is not synchronized; a lost
+     * increment on an async event only shifts which call gets through.
+     */
+    public boolean admit() {
+        int every = sampleEvery;
+        return every == 1 || ++sampled % every == 0;
+    }
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether the handler is marked {@link Critical} and exempt from watchdog throttling.
+     */
+    public boolean isCritical() {
+        return critical;
+    }
+
+    public Feature getFeature() {
+        return feature;
+    }
+
+    public TimerSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new TimerSnapshot(count.sum(), totalNanos.sum(), maxNanos.get(), counts);
+    }
+
+    public void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos <= 0) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(nanos));
+    }
+}
@@ -0,0 +1,255 @@
+package net.mysterria.stuff.perf;
+
+import net.mysterria.stuff.features.Feature;
+import net.mysterria.stuff.perf.jfr.ListenerInvocationEvent;
+import net.mysterria.stuff.utils.PrettyLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registers listeners with every {@link EventHandler} method wrapped in a {@link HandlerTimer}.
+ * <p>
+ * This does what {@code PluginManager#registerEvents} does, one {@code registerEvent} call per
+ * handler method, but with an executor that measures the call. With timings disabled in config
+ * listeners are registered the normal way and cost nothing extra.
+ */
+public class ListenerTimings {
+
+    private static final double TICK_NANOS = 50_000_000.0;
+
+    private final Plugin plugin;
+    private final boolean enabled;
+    private final List<HandlerTimer> timers = new CopyOnWriteArrayList<>();
+    private final Map<Feature, List<Registration>> registrations = new EnumMap<>(Feature.class);
+    private final LongAdder[] tickNanos = new LongAdder[Feature.values().length];
+
+    private volatile int resetTick;
+
+    public ListenerTimings(Plugin plugin, boolean enabled) {
+        this.plugin = plugin;
+        this.enabled = enabled;
+        this.resetTick = Bukkit.getCurrentTick();
+        for (int i = 0; i < tickNanos.length; i++) {
+            tickNanos[i] = new LongAdder();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void register(Listener listener, Feature feature) {
+        if (!enabled) {
+            Bukkit.getPluginManager().registerEvents(listener, plugin);
+            return;
+        }
+
+        Set<Method> methods = new LinkedHashSet<>(Arrays.asList(listener.getClass().getMethods()));
+        methods.addAll(Arrays.asList(listener.getClass().getDeclaredMethods()));
+
+        int registered = 0;
+        for (Method method : methods) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.isBridge() || method.isSynthetic()) continue;
+            if (method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                PrettyLogger.warn(listener.getClass().getSimpleName() + "#" + method.getName() + " is not a valid event handler, skipping");
+                continue;
+            }
+
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            HandlerList handlers = handlerListOf(eventClass);
+            if (handlers == null) {
+                PrettyLogger.warn(listener.getClass().getSimpleName() + "#" + method.getName() + " listens to "
+                        + eventClass.getSimpleName() + ", which has no handler list, skipping");
+                continue;
+            }
+
+            boolean critical = method.isAnnotationPresent(Critical.class);
+            HandlerTimer timer = new HandlerTimer(listener.getClass().getSimpleName() + "#" + method.getName(), feature, critical);
+            EventExecutor executor = timed(EventExecutor.create(method, eventClass), eventClass, timer, tickNanos[feature.ordinal()]);
+
+            Registration registration = new Registration(handlers,
+                    new RegisteredListener(listener, executor, handler.priority(), plugin, handler.ignoreCancelled()), critical);
+            registration.register();
+            registrations.computeIfAbsent(feature, key -> new ArrayList<>()).add(registration);
+            timers.add(timer);
+            registered++;
+        }
+        PrettyLogger.debug("Registered " + registered + " timed handlers for " + listener.getClass().getSimpleName());
+    }
+
+    public List<HandlerTimer> getTimers() {
+        return List.copyOf(timers);
+    }
+
+    /**
+     * Time spent in the feature's handlers since the previous call. Called once per tick by the
+     * {@link FeatureWatchdog}.
+     */
+    public long drainTickNanos(Feature feature) {
+        return tickNanos[feature.ordinal()].sumThenReset();
+    }
+
+    /**
+     * Samples the feature's handlers, except those marked {@link Critical}.
+     */
+    public void setSampleEvery(Feature feature, int sampleEvery) {
+        for (HandlerTimer timer : timers) {
+            if (timer.getFeature() == feature && !timer.isCritical()) {
+                timer.setSampleEvery(sampleEvery);
+            }
+        }
+    }
+
+    /**
+     * Takes the feature's handlers off the event bus, except those marked {@link Critical}.
+     */
+    public void unregister(Feature feature) {
+        for (Registration registration : registrations.getOrDefault(feature, List.of())) {
+            if (!registration.critical()) {
+                registration.unregister();
+            }
+        }
+    }
+
+    /**
+     * Puts the feature's handlers back with their original executors, so they keep their timers.
+     */
+    public void reregister(Feature feature) {
+        unregister(feature);
+        for (Registration registration : registrations.getOrDefault(feature, List.of())) {
+            if (!registration.critical()) {
+                registration.register();
+            }
+        }
+    }
+
+    /**
+     * Drops the feature's handlers for good, along with their timers. Used when a feature is
+     * disabled at runtime.
+     */
+    public void release(Feature feature) {
+        for (Registration registration : registrations.getOrDefault(feature, List.of())) {
+            registration.unregister();
+        }
+        registrations.remove(feature);
+        timers.removeIf(timer -> timer.getFeature() == feature);
+        tickNanos[feature.ordinal()].reset();
+    }
+
+    public Map<Feature, TimerSnapshot> snapshotByFeature() {
+        Map<Feature, TimerSnapshot> byFeature = new EnumMap<>(Feature.class);
+        for (HandlerTimer timer : timers) {
+            byFeature.merge(timer.getFeature(), timer.snapshot(), TimerSnapshot::merge);
+        }
+        return byFeature;
+    }
+
+    /**
+     * Fraction of the tick budget (50 ms per tick since the last reset) spent in the given time.
+     */
+    public double shareOfTicks(long nanos) {
+        int ticks = Math.max(1, Bukkit.getCurrentTick() - resetTick);
+        return nanos / (ticks * TICK_NANOS);
+    }
+
+    public int ticksSinceReset() {
+        return Bukkit.getCurrentTick() - resetTick;
+    }
+
+    public void reset() {
+        for (HandlerTimer timer : timers) {
+            timer.reset();
+        }
+        resetTick = Bukkit.getCurrentTick();
+    }
+
+    public List<Map.Entry<HandlerTimer, TimerSnapshot>> slowestHandlers(int limit) {
+        List<Map.Entry<HandlerTimer, TimerSnapshot>> entries = new ArrayList<>(timers.size());
+        for (HandlerTimer timer : timers) {
+            entries.add(Map.entry(timer, timer.snapshot()));
+        }
+        entries.sort(Comparator.comparingLong((Map.Entry<HandlerTimer, TimerSnapshot> entry) -> entry.getValue().totalNanos()).reversed());
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    private static EventExecutor timed(EventExecutor delegate, Class<? extends Event> eventClass, HandlerTimer timer, LongAdder featureNanos) {
+        return (listener, event) -> {
+            if (!eventClass.isInstance(event) || !timer.admit()) {
+                return;
+            }
+
+            ListenerInvocationEvent invocation = new ListenerInvocationEvent();
+            invocation.begin();
+            long start = System.nanoTime();
+            try {
+                delegate.execute(listener, event);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                timer.record(nanos);
+                // Async events such as chat do not take main thread time, so they do not count against the tick
+                if (Bukkit.isPrimaryThread()) {
+                    featureNanos.add(nanos);
+                }
+                if (invocation.shouldCommit()) {
+                    invocation.handler = timer.getName();
+                    invocation.feature = timer.getFeature().getConfigName();
+                    invocation.eventType = event.getEventName();
+                    invocation.commit();
+                }
+            }
+        };
+    }
+
+    /**
+     * The event's {@link HandlerList}, found the same way the plugin manager does: the static
+     * {@code getHandlerList()} of the event class or the nearest superclass that declares one.
+     */
+    private static HandlerList handlerListOf(Class<? extends Event> eventClass) {
+        for (Class<?> type = eventClass; type != null && Event.class.isAssignableFrom(type); type = type.getSuperclass()) {
+            try {
+                Method method = type.getDeclaredMethod("getHandlerList");
+                method.setAccessible(true);
+                return (HandlerList) method.invoke(null);
+            } catch (NoSuchMethodException e) {
+                // try the superclass
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One handler method, kept as the {@link RegisteredListener} itself so it can be taken off and
+     * put back on the event bus on its own, without touching the listener's other handlers.
+     */
+    private record Registration(HandlerList handlers, RegisteredListener registered, boolean critical) {
+
+        void register() {
+            handlers.register(registered);
+        }
+
+        void unregister() {
+            handlers.unregister(registered);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package net.mysterria.stuff.perf;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.mysterria.stuff.MysterriaStuff;
+import net.mysterria.stuff.features.coi.rules.CoIRule;
+import net.mysterria.stuff.features.coi.rules.CoIRuleEngine;
+import net.mysterria.stuff.features.recipes.RecipeManager;
+import net.mysterria.stuff.utils.PrettyLogger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves plugin counters in the Prometheus text format on {@code /metrics}.
+ * <p>
+ * Scrapes run on the server's own single thread and only read adders, accumulators and
+ * volatile snapshots, so they never wait on or schedule anything on the main thread.
+ */
+public class MetricsServer {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final int FIRST_EXPORTED_BUCKET = 9;
+
+    private final MysterriaStuff plugin;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MetricsServer(MysterriaStuff plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start(String bindAddress, int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MysterriaStuff-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+        PrettyLogger.info("Metrics endpoint listening on http://" + bindAddress + ":" + port + "/metrics");
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (Exception e) {
+            PrettyLogger.debug(() -> "Metrics scrape failed: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String render() {
+        StringBuilder out = new StringBuilder(4096);
+
+        CoIRuleEngine ruleEngine = plugin.getCoIRuleEngine();
+        if (ruleEngine != null) {
+            header(out, "mysterriastuff_coi_rule_hits_total", "counter", "Events matched by each CoI protection rule");
+            for (CoIRule rule : ruleEngine.getRules()) {
+                out.append("mysterriastuff_coi_rule_hits_total{rule=\"").append(escape(rule.getId()))
+                        .append("\",event=\"").append(rule.getEvent().getConfigName())
+                        .append("\",verdict=\"").append(rule.getVerdict().name().toLowerCase())
+                        .append("\"} ").append(rule.getHits()).append('\n');
+            }
+        }
+
+        ListenerTimings timings = plugin.getListenerTimings();
+        if (timings != null && timings.isEnabled()) {
+            List<HandlerTimer> timers = timings.getTimers();
+            List<TimerSnapshot> snapshots = new ArrayList<>(timers.size());
+            for (HandlerTimer timer : timers) {
+                snapshots.add(timer.snapshot());
+            }
+
+            header(out, "mysterriastuff_handler_calls_total", "counter", "Events handled per event handler");
+            for (int i = 0; i < timers.size(); i++) {
+                out.append("mysterriastuff_handler_calls_total").append(handlerLabels(timers.get(i)))
+                        .append(' ').append(snapshots.get(i).count()).append('\n');
+            }
+            header(out, "mysterriastuff_handler_seconds_total", "counter", "Time spent per event handler");
+            for (int i = 0; i < timers.size(); i++) {
+                out.append("mysterriastuff_handler_seconds_total").append(handlerLabels(timers.get(i)))
+                        .append(' ').append(snapshots.get(i).totalNanos() / 1e9).append('\n');
+            }
+        }
+
+        counter(out, "mysterriastuff_token_exchanges_total", "Universal tokens exchanged for a wrap", PluginMetrics.TOKEN_EXCHANGES);
+        counter(out, "mysterriastuff_token_refunds_total", "Universal tokens refunded after a failed exchange", PluginMetrics.TOKEN_REFUNDS);
+        counter(out, "mysterriastuff_chatcontrol_writes_total", "ChatControl join/quit messages written", PluginMetrics.CHATCONTROL_WRITES);
+        counter(out, "mysterriastuff_chatcontrol_write_failures_total", "ChatControl join/quit message writes that failed", PluginMetrics.CHATCONTROL_WRITE_FAILURES);
+
+        header(out, "mysterriastuff_booster_fetches_total", "counter", "Booster API fetches by result");
+        result(out, "mysterriastuff_booster_fetches_total", "success", PluginMetrics.BOOSTER_FETCH_SUCCESS);
+        result(out, "mysterriastuff_booster_fetches_total", "not_modified", PluginMetrics.BOOSTER_FETCH_NOT_MODIFIED);
+        result(out, "mysterriastuff_booster_fetches_total", "http_error", PluginMetrics.BOOSTER_FETCH_HTTP_ERROR);
+        result(out, "mysterriastuff_booster_fetches_total", "parse_error", PluginMetrics.BOOSTER_FETCH_PARSE_ERROR);
+        result(out, "mysterriastuff_booster_fetches_total", "error", PluginMetrics.BOOSTER_FETCH_ERROR);
+        histogram(out, "mysterriastuff_booster_fetch_seconds", "Booster API fetch latency", PluginMetrics.BOOSTER_FETCH_LATENCY.snapshot());
+
+        histogram(out, "mysterriastuff_token_gui_open_seconds", "Time to build and open a Universal Token GUI", PluginMetrics.TOKEN_GUI_OPEN.snapshot());
+
+        RecipeManager recipeManager = plugin.getRecipeManager();
+        header(out, "mysterriastuff_recipes", "gauge", "Custom recipes currently registered");
+        out.append("mysterriastuff_recipes ").append(recipeManager == null ? 0 : recipeManager.getRecipeCount()).append('\n');
+
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void counter(StringBuilder out, String name, String help, LongAdder value) {
+        header(out, name, "counter", help);
+        out.append(name).append(' ').append(value.sum()).append('\n');
+    }
+
+    private static void result(StringBuilder out, String name, String result, LongAdder value) {
+        out.append(name).append("{result=\"").append(result).append("\"} ").append(value.sum()).append('\n');
+    }
+
+    private static void histogram(StringBuilder out, String name, String help, TimerSnapshot snapshot) {
+        header(out, name, "histogram", help);
+        long cumulative = 0;
+        long[] buckets = snapshot.buckets();
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i];
+            if (i < FIRST_EXPORTED_BUCKET) continue;
+            out.append(name).append("_bucket{le=\"").append((1L << (i + 1)) / 1e9).append("\"} ").append(cumulative).append('\n');
+        }
+        out.append(name).append("_bucket{le=\"+Inf\"} ").append(snapshot.count()).append('\n');
+        out.append(name).append("_sum ").append(snapshot.totalNanos() / 1e9).append('\n');
+        out.append(name).append("_count ").append(snapshot.count()).append('\n');
+    }
+
+    private static String handlerLabels(HandlerTimer timer) {
+        return "{handler=\"" + escape(timer.getName()) + "\",feature=\"" + timer.getFeature().getConfigName() + "\"}";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
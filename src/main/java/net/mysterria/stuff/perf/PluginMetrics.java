@@ -0,0 +1,31 @@
+package net.mysterria.stuff.perf;
+
+import net.mysterria.stuff.features.Feature;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plugin-wide counters that are not tied to a single event handler.
+ * Everything here is a striped adder, so features can bump them from any thread and the
+ * metrics endpoint can read them without locking.
+ */
+public final class PluginMetrics {
+
+    public static final LongAdder TOKEN_EXCHANGES = new LongAdder();
+    public static final LongAdder TOKEN_REFUNDS = new LongAdder();
+
+    public static final LongAdder CHATCONTROL_WRITES = new LongAdder();
+    public static final LongAdder CHATCONTROL_WRITE_FAILURES = new LongAdder();
+
+    public static final LongAdder BOOSTER_FETCH_SUCCESS = new LongAdder();
+    public static final LongAdder BOOSTER_FETCH_NOT_MODIFIED = new LongAdder();
+    public static final LongAdder BOOSTER_FETCH_HTTP_ERROR = new LongAdder();
+    public static final LongAdder BOOSTER_FETCH_PARSE_ERROR = new LongAdder();
+    public static final LongAdder BOOSTER_FETCH_ERROR = new LongAdder();
+    public static final HandlerTimer BOOSTER_FETCH_LATENCY = new HandlerTimer("booster-fetch", Feature.BOOSTER_PATRIARCH);
+
+    public static final HandlerTimer TOKEN_GUI_OPEN = new HandlerTimer("token-gui-open", Feature.UNIVERSAL_TOKEN);
+
+    private PluginMetrics() {
+    }
+}
@@ -0,0 +1,41 @@
+package net.mysterria.stuff.perf;
+
+/**
+ * A point-in-time copy of one or more {@link HandlerTimer}s.
+ * Bucket {@code i} counts calls that took between 2^i and 2^(i+1) nanoseconds.
+ */
+public record TimerSnapshot(long count, long totalNanos, long maxNanos, long[] buckets) {
+
+    public static final TimerSnapshot EMPTY = new TimerSnapshot(0, 0, 0, new long[HandlerTimer.BUCKETS]);
+
+    public TimerSnapshot merge(TimerSnapshot other) {
+        long[] merged = new long[HandlerTimer.BUCKETS];
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] = buckets[i] + other.buckets[i];
+        }
+        return new TimerSnapshot(count + other.count, totalNanos + other.totalNanos, Math.max(maxNanos, other.maxNanos), merged);
+    }
+
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * Upper bound of the histogram bucket containing the given quantile, capped at the observed max.
+     */
+    public long percentileNanos(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long threshold = (long) Math.ceil(count * quantile);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= threshold) {
+                return Math.min(1L << (i + 1), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+}
@@ -0,0 +1,28 @@
+package net.mysterria.stuff.perf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("net.mysterria.stuff.BoosterFetch")
+@Label("Booster Fetch")
+@Category({"MysterriaStuff", "Booster Patriarch"})
+@Description("A request to the booster API")
+@StackTrace(false)
+public class BoosterFetchEvent extends Event {
+
+    @Label("URL")
+    public String url;
+
+    @Label("Status Code")
+    public int statusCode;
+
+    @Label("Booster Count")
+    public int boosterCount;
+
+    @Label("Result")
+    public String result;
+}
@@ -0,0 +1,22 @@
+package net.mysterria.stuff.perf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("net.mysterria.stuff.ChatControlReload")
+@Label("ChatControl Reload")
+@Category({"MysterriaStuff", "ChatControl Token"})
+@Description("A ChatControl reload dispatched after writing player messages")
+@StackTrace(false)
+public class ChatControlReloadEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Success")
+    public boolean success;
+}
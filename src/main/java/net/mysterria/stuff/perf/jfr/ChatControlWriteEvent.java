@@ -0,0 +1,31 @@
+package net.mysterria.stuff.perf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("net.mysterria.stuff.ChatControlWrite")
+@Label("ChatControl Write")
+@Category({"MysterriaStuff", "ChatControl Token"})
+@Description("A join or quit message written to a ChatControl rules file")
+@StackTrace(false)
+public class ChatControlWriteEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Section Size")
+    @Description("Size of the player's message section that was written, not of the whole file")
+    @DataAmount
+    public long sectionBytes;
+
+    @Label("Success")
+    public boolean success;
+}
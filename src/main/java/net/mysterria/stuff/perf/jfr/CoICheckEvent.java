@@ -0,0 +1,28 @@
+package net.mysterria.stuff.perf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("net.mysterria.stuff.CoICheck")
+@Label("CoI Check")
+@Category({"MysterriaStuff", "CoI Protection"})
+@Description("A CoI protection rule lookup for an item carrying CoI data")
+@StackTrace(false)
+public class CoICheckEvent extends Event {
+
+    @Label("Rule Event")
+    public String ruleEvent;
+
+    @Label("Player")
+    public String player;
+
+    @Label("Item Classes")
+    public String itemClasses;
+
+    @Label("Denied")
+    public boolean denied;
+}
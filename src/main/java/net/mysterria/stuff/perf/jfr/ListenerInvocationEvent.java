@@ -0,0 +1,25 @@
+package net.mysterria.stuff.perf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("net.mysterria.stuff.ListenerInvocation")
+@Label("Listener Invocation")
+@Category({"MysterriaStuff", "Listeners"})
+@Description("A call to one of the plugin's timed event handlers")
+@StackTrace(false)
+public class ListenerInvocationEvent extends Event {
+
+    @Label("Handler")
+    public String handler;
+
+    @Label("Feature")
+    public String feature;
+
+    @Label("Event Type")
+    public String eventType;
+}
@@ -0,0 +1,25 @@
+package net.mysterria.stuff.perf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("net.mysterria.stuff.RecipeRegistration")
+@Label("Recipe Registration")
+@Category({"MysterriaStuff", "Recipe Manager"})
+@Description("Registering a custom recipe with the server")
+@StackTrace(false)
+public class RecipeRegistrationEvent extends Event {
+
+    @Label("Recipe ID")
+    public String recipeId;
+
+    @Label("Recipe Type")
+    public String recipeType;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,25 @@
+package net.mysterria.stuff.perf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("net.mysterria.stuff.WrapGuiBuild")
+@Label("Wrap GUI Build")
+@Category({"MysterriaStuff", "Universal Token"})
+@Description("Building and opening a Universal Token wrap GUI")
+@StackTrace(false)
+public class WrapGuiBuildEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Category")
+    public String category;
+
+    @Label("Wrap Count")
+    public int wrapCount;
+}
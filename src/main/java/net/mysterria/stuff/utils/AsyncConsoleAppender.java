@@ -0,0 +1,82 @@
+package net.mysterria.stuff.utils;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.ConsoleCommandSender;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands console messages to a background thread so logging never waits on the console.
+ * <p>
+ * The buffer is a fixed-size ring: when the console falls behind the oldest pending message is
+ * dropped, and the number of dropped messages is reported once the writer catches up.
+ */
+class AsyncConsoleAppender {
+
+    private static final int CAPACITY = 1024;
+
+    private final ConsoleCommandSender console;
+    private final BlockingQueue<Component> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    AsyncConsoleAppender(ConsoleCommandSender console) {
+        this.console = console;
+        this.writer = new Thread(this::run, "MysterriaStuff-Logger");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    void append(Component message) {
+        while (!queue.offer(message)) {
+            if (queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Stops the writer and prints whatever is still queued on the calling thread.
+     */
+    void shutdown() {
+        running = false;
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Component message = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (message != null) {
+                    console.sendMessage(message);
+                    drain();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                // A console failure must not kill the writer, the next message gets another try
+            }
+        }
+    }
+
+    private void drain() {
+        Component message;
+        while ((message = queue.poll()) != null) {
+            console.sendMessage(message);
+        }
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            console.sendMessage(Component.text("[Mysterria] Dropped " + lost + " log messages while the console was behind"));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package net.mysterria.stuff.utils;
+
+/**
+ * Subsystems whose debug output can be switched on on its own with {@code /mystuff debug <category>}.
+ */
+public enum DebugCategory {
+    COI("coi"),
+    BOOSTER("booster"),
+    CHATCONTROL("chatcontrol"),
+    WRAPS("wraps"),
+    RECIPES("recipes");
+
+    private final String configName;
+
+    DebugCategory(String configName) {
+        this.configName = configName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    public static DebugCategory fromConfigName(String name) {
+        for (DebugCategory category : values()) {
+            if (category.configName.equalsIgnoreCase(name)) {
+                return category;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+package net.mysterria.stuff.utils;
+
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Read-only item checks backed by {@link ItemStack#getPersistentDataContainer()}.
+ * Unlike {@code getItemMeta().getPersistentDataContainer()} nothing is copied, so these are safe for hot paths.
+ */
+public final class ItemInspector {
+
+    private ItemInspector() {
+    }
+
+    public static PersistentDataContainerView view(ItemStack item) {
+        if (item == null || item.isEmpty() || !item.hasItemMeta()) {
+            return null;
+        }
+
+        PersistentDataContainerView view = item.getPersistentDataContainer();
+        return view.isEmpty() ? null : view;
+    }
+
+    public static boolean hasKey(ItemStack item, NamespacedKey key) {
+        PersistentDataContainerView view = view(item);
+        return view != null && view.has(key);
+    }
+
+    public static <P, C> boolean hasKey(ItemStack item, NamespacedKey key, PersistentDataType<P, C> type) {
+        PersistentDataContainerView view = view(item);
+        return view != null && view.has(key, type);
+    }
+
+    public static String getString(ItemStack item, NamespacedKey key) {
+        PersistentDataContainerView view = view(item);
+        if (view == null || !view.has(key, PersistentDataType.STRING)) {
+            return null;
+        }
+        return view.get(key, PersistentDataType.STRING);
+    }
+}
@@ -0,0 +1,172 @@
+package net.mysterria.stuff.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A legacy {@code &}-coded message parsed once, with its {@code {name}} placeholders kept as slots.
+ * <p>
+ * The template is parsed with every placeholder swapped for a marker character, so the text
+ * around the slots keeps exactly the colours it had in the original string, and each slot
+ * remembers the style in effect where it sits. Rendering only deserializes the filled-in values
+ * and joins the pre-built pieces; a message without placeholders is a single cached component.
+ */
+public final class MessageTemplate {
+
+    public static final MessageTemplate EMPTY = new MessageTemplate(new Component[]{Component.empty()}, new String[0], new Style[0]);
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([A-Za-z0-9_-]+)}");
+    private static final char SLOT_MARKER = '\uE000';
+
+    private final Component[] literals;
+    private final String[] slotNames;
+    private final Style[] slotStyles;
+    private final Component cached;
+
+    private MessageTemplate(Component[] literals, String[] slotNames, Style[] slotStyles) {
+        this.literals = literals;
+        this.slotNames = slotNames;
+        this.slotStyles = slotStyles;
+        this.cached = slotNames.length == 0 ? literals[0].decoration(TextDecoration.ITALIC, false) : null;
+    }
+
+    public static MessageTemplate compile(String message, LegacyComponentSerializer serializer) {
+        if (message == null || message.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<String> names = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(message);
+        StringBuilder marked = new StringBuilder(message.length());
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+            matcher.appendReplacement(marked, "");
+            marked.append(SLOT_MARKER);
+        }
+        matcher.appendTail(marked);
+
+        List<Map.Entry<String, Style>> runs = new ArrayList<>();
+        flatten(serializer.deserialize(marked.toString()), Style.empty(), runs);
+
+        List<Component> literals = new ArrayList<>(names.size() + 1);
+        List<Style> slotStyles = new ArrayList<>(names.size());
+        Component literal = Component.empty();
+        for (Map.Entry<String, Style> run : runs) {
+            String text = run.getKey();
+            int start = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) != SLOT_MARKER) continue;
+
+                if (i > start) {
+                    literal = literal.append(Component.text(text.substring(start, i), run.getValue()));
+                }
+                literals.add(literal);
+                slotStyles.add(run.getValue());
+                literal = Component.empty();
+                start = i + 1;
+            }
+            if (start < text.length()) {
+                literal = literal.append(Component.text(text.substring(start), run.getValue()));
+            }
+        }
+        literals.add(literal);
+
+        return new MessageTemplate(literals.toArray(Component[]::new), names.toArray(String[]::new), slotStyles.toArray(Style[]::new));
+    }
+
+    /**
+     * Compiles every message in the map.
+     */
+    public static Map<String, MessageTemplate> compileAll(Map<String, String> messages, LegacyComponentSerializer serializer) {
+        Map<String, MessageTemplate> templates = new HashMap<>(messages.size() * 2);
+        for (Map.Entry<String, String> entry : messages.entrySet()) {
+            templates.put(entry.getKey(), compile(entry.getValue(), serializer));
+        }
+        return Map.copyOf(templates);
+    }
+
+    public Component render() {
+        return render(null, new String[0]);
+    }
+
+    /**
+     * Fills the slots from alternating placeholder names and values. Values may carry their own
+     * {@code &} codes; slots without a value are left as their literal {@code {name}}.
+     */
+    public Component render(LegacyComponentSerializer serializer, String... placeholders) {
+        if (cached != null) {
+            return cached;
+        }
+
+        Component result = literals[0];
+        for (int slot = 0; slot < slotNames.length; slot++) {
+            String value = valueOf(slotNames[slot], placeholders);
+            Component filled = value == null
+                    ? Component.text("{" + slotNames[slot] + "}")
+                    : serializer == null ? Component.text(value) : serializer.deserialize(value);
+            result = result.append(Component.text().style(slotStyles[slot]).append(filled).build())
+                    .append(literals[slot + 1]);
+        }
+        return result.decoration(TextDecoration.ITALIC, false);
+    }
+
+    private static String valueOf(String name, String[] placeholders) {
+        for (int i = 0; i < placeholders.length - 1; i += 2) {
+            if (placeholders[i].equals(name)) {
+                return placeholders[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The compiled templates of a messages map that is replaced as a whole on reload. The map is
+     * compared by identity, so templates are compiled once per config snapshot, on the first
+     * lookup after it changed.
+     */
+    public static final class Cache {
+
+        private final Supplier<Map<String, String>> messages;
+        private final LegacyComponentSerializer serializer;
+        private volatile Compiled compiled;
+
+        public Cache(Supplier<Map<String, String>> messages, LegacyComponentSerializer serializer) {
+            this.messages = messages;
+            this.serializer = serializer;
+        }
+
+        public MessageTemplate get(String key) {
+            Compiled current = compiled;
+            Map<String, String> source = messages.get();
+            if (current == null || current.source() != source) {
+                current = new Compiled(source, compileAll(source, serializer));
+                compiled = current;
+            }
+            return current.templates().getOrDefault(key, EMPTY);
+        }
+
+        private record Compiled(Map<String, String> source, Map<String, MessageTemplate> templates) {
+        }
+    }
+
+    private static void flatten(Component component, Style inherited, List<Map.Entry<String, Style>> runs) {
+        Style style = inherited.merge(component.style());
+        if (component instanceof TextComponent text && !text.content().isEmpty()) {
+            runs.add(Map.entry(text.content(), style));
+        }
+        for (Component child : component.children()) {
+            flatten(child, style, runs);
+        }
+    }
+}
@@ -4,12 +4,43 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import net.mysterria.stuff.MysterriaStuff;
-import org.bukkit.command.ConsoleCommandSender;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Supplier;
 
 
 public class PrettyLogger {
 
-    private static boolean debugMode = false;
+    private static final Component GRADIENT_PREFIX = createGradientPrefix();
+    private static final Component PLAIN_PREFIX = Component.text("[Mysterria]");
+    private static final Component[] COLORED_LEVEL_PREFIXES = new Component[LogLevel.values().length];
+    private static final Component[] PLAIN_LEVEL_PREFIXES = new Component[LogLevel.values().length];
+    private static final Component[] COLORED_CATEGORY_PREFIXES = new Component[DebugCategory.values().length];
+    private static final Component[] PLAIN_CATEGORY_PREFIXES = new Component[DebugCategory.values().length];
+    private static final TokenBucket[] CATEGORY_LIMITS = new TokenBucket[DebugCategory.values().length];
+
+    static {
+        for (LogLevel level : LogLevel.values()) {
+            COLORED_LEVEL_PREFIXES[level.ordinal()] = GRADIENT_PREFIX
+                    .append(Component.text(" [" + level.getLabel() + "] ").color(level.getColor()));
+            PLAIN_LEVEL_PREFIXES[level.ordinal()] = PLAIN_PREFIX
+                    .append(Component.text(" [" + level.getLabel() + "] "));
+        }
+        for (DebugCategory category : DebugCategory.values()) {
+            String label = " [" + LogLevel.DEBUG.getLabel() + "/" + category.getConfigName() + "] ";
+            COLORED_CATEGORY_PREFIXES[category.ordinal()] = GRADIENT_PREFIX
+                    .append(Component.text(label).color(LogLevel.DEBUG.getColor()));
+            PLAIN_CATEGORY_PREFIXES[category.ordinal()] = PLAIN_PREFIX.append(Component.text(label));
+            CATEGORY_LIMITS[category.ordinal()] = new TokenBucket(0);
+        }
+    }
+
+    private static volatile boolean debugMode = false;
+    private static volatile boolean useColors = true;
+    private static volatile LogLevel minLevel = LogLevel.INFO;
+    private static volatile AsyncConsoleAppender appender;
+    private static volatile Set<DebugCategory> debugCategories = EnumSet.noneOf(DebugCategory.class);
 
     private static Component createGradientPrefix() {
         return Component.text("[").color(TextColor.color(0xFF69B4))
@@ -25,22 +56,92 @@ public class PrettyLogger {
                 .append(Component.text("]").color(TextColor.color(0xFF69B4)));
     }
 
-    private static Component createSimpleGradientPrefix() {
-        return Component.text("[Mysterria]").color(TextColor.color(0xAA55FF));
+    /**
+     * Applies the {@code logging.*} settings. With {@code async} the console output moves to a
+     * background thread; turning it off flushes and stops that thread.
+     */
+    public static void configure(String minLevelName, boolean colors, boolean async) {
+        LogLevel level = LogLevel.fromName(minLevelName);
+        if (level == null) {
+            warn("Unknown logging.min-level '" + minLevelName + "', using INFO");
+            level = LogLevel.INFO;
+        }
+        minLevel = level;
+        useColors = colors;
+
+        if (async && appender == null) {
+            appender = new AsyncConsoleAppender(MysterriaStuff.getInstance().getServer().getConsoleSender());
+        } else if (!async) {
+            shutdown();
+        }
+    }
+
+    /**
+     * Sets which categories print debug output outside of debug mode, and how many lines per
+     * second each category may print before the rest are only counted.
+     */
+    public static void configureDebug(Set<DebugCategory> categories, int linesPerSecond) {
+        debugCategories = categories.isEmpty() ? EnumSet.noneOf(DebugCategory.class) : EnumSet.copyOf(categories);
+        for (TokenBucket limit : CATEGORY_LIMITS) {
+            limit.setRate(linesPerSecond);
+        }
+    }
+
+    public static Set<DebugCategory> getDebugCategories() {
+        return debugCategories;
+    }
+
+    public static boolean isDebugEnabled(DebugCategory category) {
+        return debugMode || debugCategories.contains(category);
+    }
+
+    public static void setDebugEnabled(DebugCategory category, boolean enabled) {
+        Set<DebugCategory> categories = EnumSet.noneOf(DebugCategory.class);
+        categories.addAll(debugCategories);
+        if (enabled) {
+            categories.add(category);
+        } else {
+            categories.remove(category);
+        }
+        debugCategories = categories;
+    }
+
+    public static void shutdown() {
+        AsyncConsoleAppender current = appender;
+        appender = null;
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+
+    /**
+     * Whether a message at this level would be printed. DEBUG and TRACE need debug mode on top
+     * of {@code min-level}; debug mode lowers the minimum to DEBUG if it was set higher.
+     */
+    public static boolean isEnabled(LogLevel level) {
+        if (level.getSeverity() <= LogLevel.DEBUG.getSeverity()) {
+            return debugMode && level.getSeverity() >= Math.min(minLevel.getSeverity(), LogLevel.DEBUG.getSeverity());
+        }
+        return level.getSeverity() >= minLevel.getSeverity();
     }
 
     public static void log(LogLevel level, String message) {
-        if (level == LogLevel.DEBUG && !debugMode) {
+        if (!isEnabled(level)) {
             return;
         }
 
-        ConsoleCommandSender console = MysterriaStuff.getInstance().getServer().getConsoleSender();
+        Component prefix = (useColors ? COLORED_LEVEL_PREFIXES : PLAIN_LEVEL_PREFIXES)[level.ordinal()];
+        Component messageComponent = useColors
+                ? Component.text(message).color(NamedTextColor.WHITE)
+                : Component.text(message);
 
-        Component prefix = createGradientPrefix();
-        Component levelComponent = Component.text(" [" + level.getLabel() + "] ").color(level.getColor());
-        Component messageComponent = Component.text(message).color(NamedTextColor.WHITE);
+        send(prefix.append(messageComponent));
+    }
 
-        console.sendMessage(prefix.append(levelComponent).append(messageComponent));
+    public static void log(LogLevel level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            log(level, message.get());
+        }
     }
 
     public static void info(String message) {
@@ -59,6 +160,36 @@ public class PrettyLogger {
         log(LogLevel.DEBUG, message);
     }
 
+    /**
+     * Builds the message only when debug output is enabled.
+     */
+    public static void debug(Supplier<String> message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    public static void debug(DebugCategory category, String message) {
+        if (isDebugEnabled(category)) {
+            logCategory(category, () -> message);
+        }
+    }
+
+    /**
+     * Builds the message only when the category is enabled and within its rate limit.
+     */
+    public static void debug(DebugCategory category, Supplier<String> message) {
+        if (isDebugEnabled(category)) {
+            logCategory(category, message);
+        }
+    }
+
+    public static void trace(String message) {
+        log(LogLevel.TRACE, message);
+    }
+
+    public static void trace(Supplier<String> message) {
+        log(LogLevel.TRACE, message);
+    }
+
     public static void success(String message) {
         log(LogLevel.SUCCESS, message);
     }
@@ -77,40 +208,89 @@ public class PrettyLogger {
     }
 
     public static void header(String message) {
-        ConsoleCommandSender console = MysterriaStuff.getInstance().getServer().getConsoleSender();
-
-        Component line = Component.text("═".repeat(50)).color(TextColor.color(0xAA55FF));
-        Component header = Component.text("  " + message + "  ").color(TextColor.color(0xFFFFFF));
+        Component line = Component.text("═".repeat(50));
+        Component header = Component.text("  " + message + "  ");
+        if (useColors) {
+            line = line.color(TextColor.color(0xAA55FF));
+            header = header.color(TextColor.color(0xFFFFFF));
+        }
 
-        console.sendMessage(line);
-        console.sendMessage(createGradientPrefix().append(header));
-        console.sendMessage(line);
+        send(line);
+        send((useColors ? GRADIENT_PREFIX : PLAIN_PREFIX).append(header));
+        send(line);
     }
 
     public static void feature(String featureName) {
-        ConsoleCommandSender console = MysterriaStuff.getInstance().getServer().getConsoleSender();
+        if (!isEnabled(LogLevel.INFO)) {
+            return;
+        }
 
-        Component prefix = createGradientPrefix();
-        Component arrow = Component.text(" ➜ ").color(TextColor.color(0x55FF55));
-        Component feature = Component.text(featureName).color(NamedTextColor.AQUA);
+        Component arrow = Component.text(" ➜ ");
+        Component feature = Component.text(featureName);
+        if (useColors) {
+            arrow = arrow.color(TextColor.color(0x55FF55));
+            feature = feature.color(NamedTextColor.AQUA);
+        }
 
-        console.sendMessage(prefix.append(arrow).append(feature));
+        send((useColors ? GRADIENT_PREFIX : PLAIN_PREFIX).append(arrow).append(feature));
+    }
+
+    private static void logCategory(DebugCategory category, Supplier<String> message) {
+        TokenBucket limit = CATEGORY_LIMITS[category.ordinal()];
+        if (!limit.tryAcquire()) {
+            return;
+        }
+
+        sendSuppressed(category, limit);
+        Component prefix = (useColors ? COLORED_CATEGORY_PREFIXES : PLAIN_CATEGORY_PREFIXES)[category.ordinal()];
+        send(prefix.append(Component.text(message.get()).color(useColors ? NamedTextColor.WHITE : null)));
+    }
+
+    /**
+     * Prints the "lines suppressed" note of every category that turned lines away since its last
+     * note. Runs once a second so the count still shows up when the flood stops.
+     */
+    public static void flushSuppressed() {
+        for (DebugCategory category : DebugCategory.values()) {
+            sendSuppressed(category, CATEGORY_LIMITS[category.ordinal()]);
+        }
+    }
+
+    private static void sendSuppressed(DebugCategory category, TokenBucket limit) {
+        long suppressed = limit.takeSuppressed();
+        if (suppressed > 0) {
+            Component prefix = (useColors ? COLORED_CATEGORY_PREFIXES : PLAIN_CATEGORY_PREFIXES)[category.ordinal()];
+            send(prefix.append(Component.text("(" + suppressed + " lines suppressed by the rate limit)")
+                    .color(useColors ? NamedTextColor.GRAY : null)));
+        }
+    }
+
+    private static void send(Component message) {
+        AsyncConsoleAppender current = appender;
+        if (current != null) {
+            current.append(message);
+        } else {
+            MysterriaStuff.getInstance().getServer().getConsoleSender().sendMessage(message);
+        }
     }
 
 
     public enum LogLevel {
-        INFO(TextColor.color(0x55FF55), "INFO"),
-        WARN(TextColor.color(0xFFAA00), "WARN"),
-        ERROR(TextColor.color(0xFF5555), "ERROR"),
-        DEBUG(TextColor.color(0xAA55FF), "DEBUG"),
-        SUCCESS(TextColor.color(0x55FFFF), "SUCCESS");
+        TRACE(TextColor.color(0xAAAAAA), "TRACE", 0),
+        DEBUG(TextColor.color(0xAA55FF), "DEBUG", 1),
+        INFO(TextColor.color(0x55FF55), "INFO", 2),
+        SUCCESS(TextColor.color(0x55FFFF), "SUCCESS", 2),
+        WARN(TextColor.color(0xFFAA00), "WARN", 3),
+        ERROR(TextColor.color(0xFF5555), "ERROR", 4);
 
         private final TextColor color;
         private final String label;
+        private final int severity;
 
-        LogLevel(TextColor color, String label) {
+        LogLevel(TextColor color, String label, int severity) {
             this.color = color;
             this.label = label;
+            this.severity = severity;
         }
 
         public TextColor getColor() {
@@ -120,5 +300,18 @@ public class PrettyLogger {
         public String getLabel() {
             return label;
         }
+
+        public int getSeverity() {
+            return severity;
+        }
+
+        public static LogLevel fromName(String name) {
+            for (LogLevel level : values()) {
+                if (level.label.equalsIgnoreCase(name)) {
+                    return level;
+                }
+            }
+            return null;
+        }
     }
 }
@@ -0,0 +1,47 @@
+package net.mysterria.stuff.utils;
+
+/**
+ * Allows up to {@code perSecond} acquisitions per second, with bursts of the same size, and
+ * counts the ones it turns away. A rate of zero or less allows everything.
+ */
+final class TokenBucket {
+
+    private int perSecond;
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+    private long suppressed;
+
+    TokenBucket(int perSecond) {
+        setRate(perSecond);
+    }
+
+    synchronized void setRate(int perSecond) {
+        this.perSecond = perSecond;
+        this.tokens = Math.max(0, perSecond);
+    }
+
+    synchronized boolean tryAcquire() {
+        if (perSecond <= 0) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        tokens = Math.min(perSecond, tokens + (now - lastRefill) * perSecond / 1e9);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens--;
+            return true;
+        }
+        suppressed++;
+        return false;
+    }
+
+    /**
+     * Returns and clears the number of acquisitions turned away since the last call.
+     */
+    synchronized long takeSuppressed() {
+        long count = suppressed;
+        suppressed = 0;
+        return count;
+    }
+}